@@ -0,0 +1,69 @@
+package treasurehunter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import treasurehunter.Hunter;
+import treasurehunter.NullOutput;
+
+/**
+ * Benchmarks for the Hunter's kit and status.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HunterBenchmark {
+    private Hunter hunter;
+
+    @Setup
+    public void setUp() {
+        hunter = new Hunter("benchmark", 1000, false, NullOutput.INSTANCE);
+        hunter.buyItem("water", 2);
+        hunter.buyItem("rope", 4);
+        hunter.buyItem("horse", 12);
+        hunter.addTreasure("gem");
+    }
+
+    @Benchmark
+    public boolean hasItemInKit() {
+        return hunter.hasItemInKit("horse");
+    }
+
+    @Benchmark
+    public boolean hasMissingItemInKit() {
+        return hunter.hasItemInKit("boots");
+    }
+
+    /**
+     * Buys an item and sells it back, so the kit and gold are the same after every call.
+     */
+    @Benchmark
+    public boolean buyAndSellItem() {
+        return hunter.buyItem("shovel", 8) & hunter.sellItem("shovel", 8);
+    }
+
+    @Benchmark
+    public String toStringUnchanged() {
+        return hunter.toString();
+    }
+
+    /**
+     * Changes the gold first, so the status has to be rendered again.
+     */
+    @Benchmark
+    public String toStringAfterGoldChange() {
+        hunter.changeGold(0);
+        return hunter.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package treasurehunter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import treasurehunter.NullOutput;
+import treasurehunter.Shop;
+
+/**
+ * Benchmarks for the Shop's price lookups and price list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShopBenchmark {
+    @Param({"water", "shovel", "banana"})
+    public String item;
+
+    private Shop shop;
+
+    @Setup
+    public void setUp() {
+        shop = new Shop(0.5, NullOutput.INSTANCE);
+    }
+
+    @Benchmark
+    public int checkBuyPrice() {
+        return shop.checkMarketPrice(item, true);
+    }
+
+    @Benchmark
+    public int checkSellPrice() {
+        return shop.checkMarketPrice(item, false);
+    }
+
+    @Benchmark
+    public String inventory() {
+        return shop.inventory();
+    }
+}
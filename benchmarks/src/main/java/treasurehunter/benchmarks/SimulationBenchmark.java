@@ -0,0 +1,45 @@
+package treasurehunter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import treasurehunter.Difficulty;
+import treasurehunter.GreedyPolicy;
+import treasurehunter.SimulatedGame;
+
+/**
+ * Benchmarks whole simulated games, once with metrics on and once with them turned off,
+ * to show what the metrics cost at simulation speed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SimulationBenchmark {
+    @Param({"NORMAL"})
+    public Difficulty difficulty;
+
+    private final GreedyPolicy policy = new GreedyPolicy();
+    private long seed;
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-Dtreasurehunter.metrics=true")
+    public SimulatedGame.Outcome playWithMetrics() {
+        return new SimulatedGame(difficulty, policy, seed++).play(500);
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-Dtreasurehunter.metrics=false")
+    public SimulatedGame.Outcome playWithoutMetrics() {
+        return new SimulatedGame(difficulty, policy, seed++).play(500);
+    }
+}
@@ -0,0 +1,103 @@
+package treasurehunter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import treasurehunter.Difficulty;
+import treasurehunter.GameSnapshot;
+import treasurehunter.Hunter;
+import treasurehunter.NullOutput;
+import treasurehunter.Shop;
+import treasurehunter.Spectator;
+import treasurehunter.SpectatorFeed;
+import treasurehunter.Town;
+
+/**
+ * Benchmarks the player's side of one turn while a growing number of spectators watch the game.
+ * A turn is a look for trouble followed by publishing the snapshot of the game, which is what TreasureHunter does
+ * after every move. Each spectator is a virtual thread that reads everything new in the feed and then sleeps like a
+ * dashboard refreshing at 60 frames a second. The turn's latency should not depend on the number of spectators,
+ * as long as the spectators have a core to run on that the player is not using.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpectatorBenchmark {
+    private static final long REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    @Param({"0", "1", "10", "100", "1000"})
+    public int spectators;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final List<Thread> watchers = new ArrayList<>();
+    private volatile boolean watching;
+    private SpectatorFeed feed;
+    private Hunter hunter;
+    private Town town;
+    private int turns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        feed = new SpectatorFeed();
+        // plenty of gold, so brawls never end the game during a run
+        hunter = new Hunter("benchmark", Integer.MAX_VALUE / 2, false, NullOutput.INSTANCE);
+        town = new Town(new Shop(0.5, NullOutput.INSTANCE), Difficulty.NORMAL, random, NullOutput.INSTANCE);
+        town.hunterArrives(hunter);
+
+        watching = true;
+        for (int i = 0; i < spectators; i++) {
+            Spectator spectator = feed.watch();
+            watchers.add(Thread.ofVirtual().name("spectator-" + i).start(() -> watch(spectator)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        watching = false;
+        for (Thread watcher : watchers) {
+            watcher.join();
+        }
+        watchers.clear();
+    }
+
+    @Benchmark
+    public GameSnapshot turn() {
+        town.lookForTrouble();
+        turns++;
+        GameSnapshot snapshot = GameSnapshot.capture(turns, 0, hunter, town);
+        feed.publish(snapshot);
+        return snapshot;
+    }
+
+    private void watch(Spectator spectator) {
+        long seen = 0;
+        while (watching) {
+            while (spectator.poll() != null) {
+                seen++;
+            }
+            LockSupport.parkNanos(REFRESH_NANOS);
+        }
+        if (seen < 0) {
+            // never true; keeps the reads from being optimized away
+            System.out.println(seen);
+        }
+    }
+}
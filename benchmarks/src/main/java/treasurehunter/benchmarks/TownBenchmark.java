@@ -0,0 +1,83 @@
+package treasurehunter.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import treasurehunter.Difficulty;
+import treasurehunter.Hunter;
+import treasurehunter.NullOutput;
+import treasurehunter.Shop;
+import treasurehunter.Terrain;
+import treasurehunter.Town;
+
+/**
+ * Benchmarks for building towns, the actions a hunter takes in them, and crossing their terrain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TownBenchmark {
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Shop shop;
+    private Hunter hunter;
+    private Town town;
+    private Terrain terrain;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        shop = new Shop(0.5, NullOutput.INSTANCE);
+        // plenty of gold, so brawls never end the game during an iteration
+        hunter = new Hunter("benchmark", Integer.MAX_VALUE / 2, false, NullOutput.INSTANCE);
+        hunter.buyItem("shovel", 8);
+        hunter.buyItem("rope", 4);
+        town = new Town(shop, Difficulty.NORMAL, random, NullOutput.INSTANCE);
+        town.hunterArrives(hunter);
+        terrain = town.getTerrain();
+    }
+
+    /**
+     * Rolls the terrain, treasure and toughness of a new town.
+     */
+    @Benchmark
+    public Town constructTown() {
+        return new Town(shop, Difficulty.NORMAL, random, NullOutput.INSTANCE);
+    }
+
+    @Benchmark
+    public String lookForTrouble() {
+        town.lookForTrouble();
+        return town.getLatestNews();
+    }
+
+    @Benchmark
+    public boolean digForGold() {
+        return town.digForGold(false);
+    }
+
+    /**
+     * Hunts in a town that has already been searched, which is what every hunt after the first one does.
+     */
+    @Benchmark
+    public String huntForTreasure() {
+        town.huntForTreasure();
+        return town.getLatestNews();
+    }
+
+    @Benchmark
+    public boolean canCrossTerrain() {
+        return terrain.canCrossTerrain(hunter);
+    }
+}
@@ -1,9 +0,0 @@
-import java.awt.Color;
-import java.util.Scanner;
-public class TreasureHunterRunner {
-    public static void main(String[] args) {
-        OutputWindow window = new OutputWindow();
-        TreasureHunter game = new TreasureHunter(window);
-        game.play();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package treasurehunter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The AliasSampler picks one of a fixed set of outcomes, each with its own weight, in constant time.<p>
+ * It uses Vose's alias method: the outcomes are laid out as columns of equal height, each holding part of its own
+ * outcome and the rest of one other outcome, its alias. A sample picks a column and a height with one random number,
+ * and lands on the column's own outcome below its cut and on the alias above it. Building the table takes time in
+ * proportion to the number of outcomes; sampling never allocates and uses only integer arithmetic.<p>
+ * A sampler never changes once built, so one can be shared by every game and thread.
+ */
+public class AliasSampler {
+    // a cut of 1 is stored as this, so a column that is full of its own outcome never lands on its alias
+    private static final long FULL = 1L << 32;
+
+    // Instance variables
+    // each cut is out of FULL, to be compared against 32 random bits
+    private final long[] cuts;
+    private final int[] aliases;
+    private final double[] probabilities;
+
+    /**
+     * Builds a sampler.
+     *
+     * @param weights The weight of each outcome. Weights do not need to add up to 1, but must not be negative,
+     *                and at least one must be above 0.
+     */
+    public AliasSampler(double... weights) {
+        int outcomes = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and not negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be above 0");
+        }
+
+        probabilities = new double[outcomes];
+        cuts = new long[outcomes];
+        aliases = new int[outcomes];
+        // each column is scaled so that a column exactly full of its own outcome has height 1
+        double[] heights = new double[outcomes];
+        int[] small = new int[outcomes];
+        int[] large = new int[outcomes];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < outcomes; i++) {
+            probabilities[i] = weights[i] / total;
+            heights[i] = probabilities[i] * outcomes;
+            if (heights[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int under = small[--smallCount];
+            int over = large[--largeCount];
+            cuts[under] = (long) (heights[under] * FULL);
+            aliases[under] = over;
+            heights[over] -= 1 - heights[under];
+            if (heights[over] < 1) {
+                small[smallCount++] = over;
+            } else {
+                large[largeCount++] = over;
+            }
+        }
+        // whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int full = large[--largeCount];
+            cuts[full] = FULL;
+            aliases[full] = full;
+        }
+        while (smallCount > 0) {
+            int full = small[--smallCount];
+            cuts[full] = FULL;
+            aliases[full] = full;
+        }
+    }
+
+    /**
+     * Builds a sampler where every outcome is equally likely.
+     *
+     * @param outcomes The number of outcomes.
+     * @return The sampler.
+     */
+    public static AliasSampler uniform(int outcomes) {
+        double[] weights = new double[outcomes];
+        Arrays.fill(weights, 1);
+        return new AliasSampler(weights);
+    }
+
+    /**
+     * Picks an outcome.
+     *
+     * @param random The random source to roll with; one number is taken from it.
+     * @return The outcome, from 0 to the number of outcomes - 1.
+     */
+    public int sample(SplittableRandom random) {
+        long roll = random.nextLong();
+        // the high 32 bits pick the column and the low 32 bits the height within it
+        int column = (int) ((roll >>> 32) * cuts.length >>> 32);
+        return (roll & FULL - 1) < cuts[column] ? column : aliases[column];
+    }
+
+    public int getOutcomes() {
+        return cuts.length;
+    }
+
+    /**
+     * Accessor method to get how likely an outcome is.
+     *
+     * @param outcome The outcome.
+     * @return Its weight divided by the total weight.
+     */
+    public double getProbability(int outcome) {
+        return probabilities[outcome];
+    }
+}
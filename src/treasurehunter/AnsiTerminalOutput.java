@@ -0,0 +1,91 @@
+package treasurehunter;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * The AnsiTerminalOutput shows the game in a terminal, coloring the text with the escape codes in the Colors class.
+ * Text is collected in a buffered writer and only written out when the game flushes at the end of a turn.
+ */
+public class AnsiTerminalOutput implements OutputSink {
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+
+    private final Writer out;
+
+    /**
+     * Creates an output that writes to standard out.
+     */
+    public AnsiTerminalOutput() {
+        this(new OutputStreamWriter(System.out));
+    }
+
+    /**
+     * Creates an output that writes to the given writer.
+     *
+     * @param out Where the text is written.
+     */
+    public AnsiTerminalOutput(Writer out) {
+        this.out = new BufferedWriter(out);
+    }
+
+    public void addTextToWindow(String text, Color color) {
+        String escapeCode = toEscapeCode(color);
+        try {
+            if (escapeCode.equals(Colors.RESET)) {
+                out.write(text);
+            } else {
+                out.write(escapeCode);
+                out.write(text);
+                out.write(Colors.RESET);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            out.write(CLEAR_SCREEN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the escape code for a color. Black is shown in the terminal's own text color so it stays readable on dark backgrounds.
+     *
+     * @param color The color of the text.
+     * @return The escape code from the Colors class.
+     */
+    private static String toEscapeCode(Color color) {
+        if (Color.RED.equals(color)) {
+            return Colors.RED;
+        } else if (Color.GREEN.equals(color)) {
+            return Colors.GREEN;
+        } else if (Color.BLUE.equals(color)) {
+            return Colors.BLUE;
+        } else if (Color.YELLOW.equals(color)) {
+            return Colors.YELLOW;
+        } else if (Color.MAGENTA.equals(color)) {
+            return Colors.PURPLE;
+        } else if (Color.CYAN.equals(color)) {
+            return Colors.CYAN;
+        } else if (Color.WHITE.equals(color)) {
+            return Colors.WHITE;
+        } else {
+            return Colors.RESET;
+        }
+    }
+}
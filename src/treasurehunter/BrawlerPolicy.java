@@ -0,0 +1,31 @@
+package treasurehunter;
+
+/**
+ * The BrawlerPolicy is a bot that trusts its fists: after hunting a town, it looks for trouble until it has
+ * a cushion of gold, and only then buys what the terrain needs and moves on.
+ */
+public class BrawlerPolicy implements DecisionPolicy {
+    private static final int GOLD_CUSHION = 20;
+
+    public String nextMove(SimulatedGame game) {
+        Hunter hunter = game.getHunter();
+        Town town = game.getCurrentTown();
+
+        if (!game.hasHuntedHere()) {
+            return "h";
+        }
+        if (hunter.getGold() < GOLD_CUSHION) {
+            return "l";
+        }
+
+        String neededItem = town.getTerrain().getNeededItem();
+        if (hunter.hasItemInKit(neededItem)) {
+            return "m";
+        }
+        return "b";
+    }
+
+    public String chooseItem(SimulatedGame game, String buyOrSell) {
+        return game.getCurrentTown().getTerrain().getNeededItem();
+    }
+}
@@ -0,0 +1,28 @@
+package treasurehunter;
+
+import java.awt.Color;
+
+/**
+ * The BufferedOutput keeps the text in memory so it can be checked later, for example in tests.
+ * Colors are ignored.
+ */
+public class BufferedOutput implements OutputSink {
+    private final StringBuilder text = new StringBuilder();
+
+    public void addTextToWindow(String text, Color color) {
+        this.text.append(text);
+    }
+
+    public void clear() {
+        text.setLength(0);
+    }
+
+    /**
+     * Accessor method to get everything added since the last clear.
+     *
+     * @return The buffered text.
+     */
+    public String getText() {
+        return text.toString();
+    }
+}
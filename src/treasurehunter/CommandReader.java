@@ -0,0 +1,94 @@
+package treasurehunter;
+
+import java.util.ArrayDeque;
+
+/**
+ * The CommandReader is how the game reads the player's answers, from any InputSource.<p>
+ * One line can hold several commands separated by semicolons, and one command can hold the answers to several
+ * prompts separated by spaces, so "b rope y; m; h" buys a rope, moves on and hunts without waiting in between.
+ * A blank line is an empty answer, just as if the player had pressed enter at the prompt.<p>
+ * Every game needs its own reader, as answers read ahead of time belong to the game that read them.
+ */
+public class CommandReader {
+    // Instance variables
+    private final InputSource source;
+    private final ArrayDeque<String> commands;
+    private String rest;
+
+    /**
+     * Creates a reader.
+     *
+     * @param source Where the lines are read from.
+     */
+    public CommandReader(InputSource source) {
+        this.source = source;
+        commands = new ArrayDeque<>();
+        rest = null;
+    }
+
+    /**
+     * Reads the answer to one prompt, which is the next word the player typed.
+     *
+     * @return The answer, or null if the player has gone away.
+     */
+    public String next() {
+        String command = nextCommand();
+        if (command == null) {
+            return null;
+        }
+        // commands are stripped, so the word ends at the first space and the rest starts after the run of spaces
+        int length = command.length();
+        int end = 0;
+        while (end < length && !Character.isWhitespace(command.charAt(end))) {
+            end++;
+        }
+        int start = end;
+        while (start < length && Character.isWhitespace(command.charAt(start))) {
+            start++;
+        }
+        rest = start < length ? command.substring(start) : null;
+        return end == length ? command : command.substring(0, end);
+    }
+
+    /**
+     * Reads an answer that may have spaces in it, such as a name, which is the rest of the current command.
+     *
+     * @return The answer, or null if the player has gone away.
+     */
+    public String nextText() {
+        String command = nextCommand();
+        rest = null;
+        return command;
+    }
+
+    /**
+     * Checks if the player has typed answers that have not been read yet, so nothing will wait for them.
+     *
+     * @return True if the next answer is already here.
+     */
+    public boolean hasAnswerReady() {
+        return rest != null || !commands.isEmpty();
+    }
+
+    private String nextCommand() {
+        if (rest != null) {
+            return rest;
+        }
+        while (commands.isEmpty()) {
+            String line = source.readLine();
+            if (line == null) {
+                return null;
+            }
+            if (line.isBlank()) {
+                return "";
+            }
+            for (String command : line.split(";")) {
+                command = command.strip();
+                if (!command.isEmpty()) {
+                    commands.add(command);
+                }
+            }
+        }
+        return commands.poll();
+    }
+}
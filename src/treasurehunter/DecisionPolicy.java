@@ -0,0 +1,25 @@
+package treasurehunter;
+
+/**
+ * A DecisionPolicy plays the Treasure Hunter game in place of a person typing at the menu.
+ * One policy is shared by every game of a simulation, so implementations must not keep per-game state.
+ */
+public interface DecisionPolicy {
+
+    /**
+     * Picks the next menu option, using the same letters a player would type.
+     *
+     * @param game The game being played.
+     * @return One of "b", "s", "m", "l", "d", "h" or "x".
+     */
+    String nextMove(SimulatedGame game);
+
+    /**
+     * Picks the item to trade after the policy chose to buy or sell.
+     *
+     * @param game      The game being played.
+     * @param buyOrSell "b" if buying, "s" if selling.
+     * @return The lowercase name of the item.
+     */
+    String chooseItem(SimulatedGame game, String buyOrSell);
+}
@@ -0,0 +1,87 @@
+package treasurehunter;
+
+/**
+ * The Difficulty enum holds the settings for each game mode that can be picked in the welcome screen.
+ * The interactive game and the headless simulation both read their rules from here.
+ */
+public enum Difficulty {
+    EASY("e", 20, 1, 0.99, false, true, TownOdds.STANDARD),
+    NORMAL("n", 10, 0.5, 0.4, false, false, TownOdds.STANDARD),
+    HARD("h", 10, 0.25, 0.75, false, false, TownOdds.STANDARD),
+    SAMURAI("s", 20, 0.5, 0.4, true, false, TownOdds.STANDARD),
+    TEST("test", 172, 0.5, 0.4, false, false, TownOdds.STANDARD);
+
+    // Instance variables
+    private final String mode;
+    private final int startingGold;
+    private final double markdown;
+    private final double toughness;
+    private final boolean samurai;
+    private final boolean easyMode;
+    private final TownOdds townOdds;
+
+    /**
+     * Sets the settings of a difficulty.
+     *
+     * @param mode         What the player types to pick this difficulty.
+     * @param startingGold The gold the hunter starts with.
+     * @param markdown     Percentage of markdown for selling items in decimal format.
+     * @param toughness    The chance of a town being a tough town.
+     * @param samurai      Whether the hunter is a samurai.
+     * @param easyMode     Whether items never break when crossing terrain.
+     * @param townOdds     The odds of every roll made in a town.
+     */
+    Difficulty(String mode, int startingGold, double markdown, double toughness, boolean samurai, boolean easyMode,
+               TownOdds townOdds) {
+        this.mode = mode;
+        this.startingGold = startingGold;
+        this.markdown = markdown;
+        this.toughness = toughness;
+        this.samurai = samurai;
+        this.easyMode = easyMode;
+        this.townOdds = townOdds;
+    }
+
+    /**
+     * Finds the difficulty for what the player typed. Anything unknown is normal mode.
+     *
+     * @param mode The lowercase text the player typed.
+     * @return The matching difficulty.
+     */
+    public static Difficulty fromMode(String mode) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.mode.equals(mode)) {
+                return difficulty;
+            }
+        }
+        return NORMAL;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public int getStartingGold() {
+        return startingGold;
+    }
+
+    public double getMarkdown() {
+        return markdown;
+    }
+
+    public double getToughness() {
+        return toughness;
+    }
+
+    public boolean isSamurai() {
+        return samurai;
+    }
+
+    public boolean isEasyMode() {
+        return easyMode;
+    }
+
+    public TownOdds getTownOdds() {
+        return townOdds;
+    }
+}
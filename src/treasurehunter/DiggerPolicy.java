@@ -0,0 +1,33 @@
+package treasurehunter;
+
+/**
+ * The DiggerPolicy is a bot that saves up for a shovel before anything else and digs as soon as it has one,
+ * then plays like the GreedyPolicy.
+ */
+public class DiggerPolicy implements DecisionPolicy {
+    private final GreedyPolicy greedy = new GreedyPolicy();
+
+    public String nextMove(SimulatedGame game) {
+        Hunter hunter = game.getHunter();
+
+        if (!game.hasDugOnce()) {
+            if (hunter.hasItemInKit("shovel")) {
+                return "d";
+            }
+            if (hunter.getGold() >= game.getShop().checkMarketPrice("shovel", true)) {
+                return "b";
+            }
+            if (game.hasHuntedHere()) {
+                return "l";
+            }
+        }
+        return greedy.nextMove(game);
+    }
+
+    public String chooseItem(SimulatedGame game, String buyOrSell) {
+        if (!game.hasDugOnce() && !game.getHunter().hasItemInKit("shovel")) {
+            return "shovel";
+        }
+        return greedy.chooseItem(game, buyOrSell);
+    }
+}
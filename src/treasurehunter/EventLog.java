@@ -0,0 +1,82 @@
+package treasurehunter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The EventLog is an append-only binary file of game events.
+ * Events are encoded by EventLogWriters, which each buffer the events of one thread and append them to the file in large batches.
+ * A batch always ends with a whole game, so games written by different threads never mix.
+ * The file is read back with an EventLogReader.
+ */
+public class EventLog implements Closeable {
+    private final FileChannel channel;
+    private final Queue<EventLogWriter> writers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<EventLogWriter> threadWriters = new ThreadLocal<>();
+
+    /**
+     * Opens a log, adding to the end of it if it already exists.
+     *
+     * @param path The log file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public EventLog(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Creates a new writer for this log. A writer must only be used by one thread at a time.
+     *
+     * @return The writer.
+     */
+    public EventLogWriter newWriter() {
+        EventLogWriter writer = new EventLogWriter(this);
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * Accessor method to get the calling thread's own writer, creating it the first time.
+     *
+     * @return The writer for the current thread.
+     */
+    public EventLogWriter writerForThisThread() {
+        EventLogWriter writer = threadWriters.get();
+        if (writer == null) {
+            writer = newWriter();
+            threadWriters.set(writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Appends a batch of encoded events to the file.
+     *
+     * @param batch The events, ready to be read.
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void append(ByteBuffer batch) throws IOException {
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+    }
+
+    /**
+     * Writes out every writer's buffered events and closes the file.
+     * The writers must no longer be in use.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void close() throws IOException {
+        for (EventLogWriter writer : writers) {
+            writer.flush();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,103 @@
+package treasurehunter;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The EventLogReader reads the events of an EventLog file back one at a time, in the order they were written.
+ * After next returns true, the event and its numbers can be read with the accessor methods.
+ */
+public class EventLogReader implements Closeable {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_EVENT_SIZE = 1 + 3 * 5;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private boolean endOfFile;
+    private GameEvent event;
+    private int a;
+    private int b;
+    private int c;
+
+    /**
+     * Opens a log for reading.
+     *
+     * @param path The log file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public EventLogReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.limit(0);
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return False once there are no more events.
+     * @throws IOException If the file cannot be read, ends in the middle of an event or holds an unknown event.
+     */
+    public boolean next() throws IOException {
+        if (buffer.remaining() < MAX_EVENT_SIZE && !endOfFile) {
+            buffer.compact();
+            while (buffer.hasRemaining() && !endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+            }
+            buffer.flip();
+        }
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= GameEvent.VALUES.length) {
+            // only a damaged log holds an event the game does not have, and nothing after it can be trusted
+            throw new IOException("The event log holds an unknown event " + ordinal);
+        }
+        event = GameEvent.VALUES[ordinal];
+        int count = event.getArgumentCount();
+        a = getVarint();
+        b = count > 1 ? getVarint() : 0;
+        c = count > 2 ? getVarint() : 0;
+        return true;
+    }
+
+    public GameEvent getEvent() {
+        return event;
+    }
+
+    public int getA() {
+        return a;
+    }
+
+    public int getB() {
+        return b;
+    }
+
+    public int getC() {
+        return c;
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int getVarint() throws IOException {
+        int zigzag = 0;
+        int shift = 0;
+        byte next;
+        do {
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("The event log ends in the middle of an event");
+            }
+            next = buffer.get();
+            zigzag |= (next & 0x7F) << shift;
+            shift += 7;
+        } while (next < 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,71 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The EventLogWriter encodes game events into a buffer for an EventLog.
+ * Each event is one byte for its type followed by its numbers as zigzag varints, so most events take two to four bytes.
+ * The buffer is written out once it passes the flush size and a game has just ended.
+ */
+public class EventLogWriter implements GameEventListener {
+    private static final int FLUSH_SIZE = 64 * 1024;
+    private static final int MAX_EVENT_SIZE = 1 + 3 * 5;
+
+    private final EventLog log;
+    private ByteBuffer buffer = ByteBuffer.allocate(2 * FLUSH_SIZE);
+
+    EventLogWriter(EventLog log) {
+        this.log = log;
+    }
+
+    public void onEvent(GameEvent event, int a, int b, int c) {
+        if (buffer.remaining() < MAX_EVENT_SIZE) {
+            // a single game outgrew the buffer; keep it in one piece rather than splitting it
+            ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+
+        buffer.put((byte) event.ordinal());
+        int count = event.getArgumentCount();
+        putVarint(a);
+        if (count > 1) {
+            putVarint(b);
+        }
+        if (count > 2) {
+            putVarint(c);
+        }
+
+        if (event == GameEvent.GAME_ENDED && buffer.position() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all buffered events to the log.
+     */
+    public void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            log.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void putVarint(int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+}
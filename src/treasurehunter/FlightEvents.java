@@ -0,0 +1,121 @@
+package treasurehunter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The FlightEvents class holds the JDK Flight Recorder events the game records, so a recording of a stalled session
+ * shows what the game was doing next to the GC pauses, thread parks and lock waits in the same recording.
+ * Start the game with -XX:StartFlightRecording, or turn the events on in a running game with jcmd JFR.start.<p>
+ * Every event spans what it describes, from begin to commit, and carries the hunter's name and gold and how the
+ * action turned out. When recording is off, or the event is turned off in the recording's settings, begin and commit
+ * do nothing and the event object is never allocated once the code is compiled. Anything that takes work to fill in,
+ * such as the hunter's gold or the length of a frame, is only looked up after shouldCommit says the event will be kept.
+ */
+public final class FlightEvents {
+    private FlightEvents() {
+    }
+
+    /**
+     * The fields every game action event carries.
+     */
+    @Category("Treasure Hunter")
+    abstract static class GameAction extends Event {
+        @Label("Hunter")
+        String hunterName;
+
+        @Label("Gold")
+        @Description("The hunter's gold once the action was done")
+        int gold;
+
+        @Label("Outcome")
+        String outcome;
+
+        /**
+         * Ends the event and records it, if it is being recorded.
+         *
+         * @param hunter  The hunter who acted.
+         * @param outcome How the action turned out.
+         */
+        void commit(Hunter hunter, String outcome) {
+            if (shouldCommit()) {
+                hunterName = hunter.getHunterName();
+                gold = hunter.getGold();
+                this.outcome = outcome;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * One turn of a game played by a person, from the menu being shown to the end of the move, including the time
+     * spent waiting for the player to answer.
+     */
+    @Name("treasurehunter.Turn")
+    @Label("Turn")
+    static class Turn extends GameAction {
+        @Label("Turn Number")
+        int turn;
+
+        @Label("Choice")
+        String choice;
+    }
+
+    /**
+     * One menu choice being carried out, without the time spent waiting for it.
+     */
+    @Name("treasurehunter.Choice")
+    @Label("Menu Choice")
+    static class Choice extends GameAction {
+        @Label("Choice")
+        String choice;
+    }
+
+    /**
+     * One visit to a shop, to buy or to sell, including the time spent answering the shopkeeper.
+     */
+    @Name("treasurehunter.ShopVisit")
+    @Label("Shop Visit")
+    static class ShopVisit extends GameAction {
+        @Label("Buying")
+        boolean buying;
+
+        @Label("Item")
+        String item;
+    }
+
+    /**
+     * One thing done in a town: leaving it, looking for trouble, digging or hunting for treasure.
+     */
+    @Name("treasurehunter.TownAction")
+    @Label("Town Action")
+    static class TownAction extends GameAction {
+        @Label("Action")
+        String action;
+
+        @Label("Tough Town")
+        boolean toughTown;
+    }
+
+    /**
+     * One step of drawing the game window: laying out a screen, handing a frame to the Swing event thread, or
+     * changing the document on the event thread.
+     */
+    @Name("treasurehunter.Render")
+    @Label("Render")
+    @Category("Treasure Hunter")
+    static class Render extends Event {
+        @Label("Step")
+        String step;
+
+        @Label("Edits")
+        int edits;
+
+        @Label("Characters")
+        @Description("The characters inserted")
+        int characters;
+    }
+}
@@ -0,0 +1,55 @@
+package treasurehunter;
+
+/**
+ * The GameEvent enum lists every state change a game reports to its GameEventListener.
+ * Each event carries up to three numbers, described next to each constant; unused numbers are 0.
+ */
+public enum GameEvent {
+    /**
+     * A: difficulty ordinal, B: starting gold, C: 1 if the hunter is a samurai.
+     * A resumed game starts with the saved gold, followed by ITEM_ADDED and TREASURE_FOUND for what the hunter carries.
+     */
+    GAME_STARTED(3),
+    /** A: terrain type, B: treasure ordinal, C: 1 if the town is tough. */
+    TOWN_ENTERED(3),
+    /** A: the change in gold. */
+    GOLD_CHANGED(1),
+    /** A: item ordinal, B: price paid. */
+    ITEM_BOUGHT(2),
+    /** A: item ordinal, B: price received. */
+    ITEM_SOLD(2),
+    /** A: item ordinal. The item was put in the kit without paying for it. */
+    ITEM_ADDED(1),
+    /** A: item ordinal. The item was taken out of the kit without selling it. */
+    ITEM_REMOVED(1),
+    /** A: treasure ordinal. */
+    TREASURE_FOUND(1),
+    /** A: 1 if the hunter crossed the terrain. */
+    LEFT_TOWN(1),
+    /** A: 1 if a brawl happened, B: the gold won (negative if lost). */
+    LOOKED_FOR_TROUBLE(2),
+    /** A: 1 if the hunter got to dig, B: the gold dug up. */
+    DUG_FOR_GOLD(2),
+    /** A: 1 if the town is now searched, B: the town's treasure ordinal. */
+    HUNTED_FOR_TREASURE(2),
+    /** A: the SimulatedGame.Outcome ordinal, or -1 for a game played by a person; B: the number of turns. */
+    GAME_ENDED(2);
+
+    // values() makes a new array every call, so the game keeps one copy
+    static final GameEvent[] VALUES = values();
+
+    private final int argumentCount;
+
+    GameEvent(int argumentCount) {
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * Accessor method to get how many of the three numbers this event uses.
+     *
+     * @return The number of arguments, from 1 to 3.
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+}
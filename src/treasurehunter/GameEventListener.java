@@ -0,0 +1,21 @@
+package treasurehunter;
+
+/**
+ * A GameEventListener is told about every state change in a game, in the order they happen.
+ * The numbers passed with each event are described in GameEvent.
+ */
+public interface GameEventListener {
+    /** A listener that ignores every event. */
+    GameEventListener NONE = (event, a, b, c) -> {
+    };
+
+    /**
+     * Called after something happened in the game.
+     *
+     * @param event What happened.
+     * @param a     The event's first number.
+     * @param b     The event's second number.
+     * @param c     The event's third number.
+     */
+    void onEvent(GameEvent event, int a, int b, int c);
+}
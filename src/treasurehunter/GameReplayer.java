@@ -0,0 +1,161 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * The GameReplayer rebuilds the Hunter and Town of a game from its events, without rolling any dice.
+ * It can be fed from an event log with the replay method, or attached to a live game as its listener.
+ */
+public class GameReplayer implements GameEventListener {
+    // Instance variables
+    private final Consumer<GameReplayer> onGameEnded;
+    private Difficulty difficulty;
+    private Shop shop;
+    private Hunter hunter;
+    private Town currentTown;
+    private boolean dugOnce;
+    private int outcome;
+    private int turns;
+
+    /**
+     * Creates a replayer.
+     *
+     * @param onGameEnded Called with this replayer each time a game ends, while the game's final state can still be read.
+     */
+    public GameReplayer(Consumer<GameReplayer> onGameEnded) {
+        this.onGameEnded = onGameEnded;
+    }
+
+    /**
+     * Replays every game in an event log.
+     *
+     * @param path        The log file.
+     * @param onGameEnded Called with the replayer each time a game ends.
+     * @return The number of events replayed.
+     * @throws IOException If the log cannot be read, or holds a difficulty, terrain, treasure or item the game does not have.
+     */
+    public static long replay(Path path, Consumer<GameReplayer> onGameEnded) throws IOException {
+        GameReplayer replayer = new GameReplayer(onGameEnded);
+        long events = 0;
+        try (EventLogReader reader = new EventLogReader(path)) {
+            while (reader.next()) {
+                if (!isReplayable(reader.getEvent(), reader.getA(), reader.getB())) {
+                    throw new IOException("The event log holds " + reader.getEvent() + " with a number out of range");
+                }
+                replayer.onEvent(reader.getEvent(), reader.getA(), reader.getB(), reader.getC());
+                events++;
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Checks that the numbers of an event that name a difficulty, terrain, treasure or item name one the game has.
+     *
+     * @param event The event.
+     * @param a     The event's first number.
+     * @param b     The event's second number.
+     * @return True if the event can be replayed.
+     */
+    private static boolean isReplayable(GameEvent event, int a, int b) {
+        switch (event) {
+            case GAME_STARTED:
+                return a >= 0 && a < Difficulty.values().length;
+            case TOWN_ENTERED:
+                return a >= 0 && a < TownOdds.TERRAINS && b >= 0 && b < Treasure.VALUES.length;
+            case ITEM_BOUGHT:
+            case ITEM_SOLD:
+            case ITEM_ADDED:
+            case ITEM_REMOVED:
+                return a >= 0 && a < Item.VALUES.length;
+            case TREASURE_FOUND:
+                return a >= 0 && a < Treasure.VALUES.length;
+            default:
+                return true;
+        }
+    }
+
+    public void onEvent(GameEvent event, int a, int b, int c) {
+        switch (event) {
+            case GAME_STARTED:
+                difficulty = Difficulty.values()[a];
+                shop = new Shop(difficulty.getMarkdown(), c == 1, NullOutput.INSTANCE);
+                hunter = new Hunter("replayed hunter", b, c == 1, NullOutput.INSTANCE);
+                currentTown = null;
+                dugOnce = false;
+                break;
+            case TOWN_ENTERED:
+                // a replayed town never rolls, so it has no random source
+                currentTown = new Town(shop, a, Treasure.VALUES[b], c == 1, difficulty.getTownOdds(), null, NullOutput.INSTANCE);
+                currentTown.hunterArrives(hunter);
+                break;
+            case GOLD_CHANGED:
+                hunter.changeGold(a);
+                break;
+            case ITEM_BOUGHT:
+                hunter.buyItem(Item.VALUES[a], b);
+                break;
+            case ITEM_SOLD:
+                hunter.sellItem(Item.VALUES[a], b);
+                break;
+            case ITEM_ADDED:
+                hunter.addItem(Item.VALUES[a]);
+                break;
+            case ITEM_REMOVED:
+                hunter.removeItemFromKit(Item.VALUES[a]);
+                break;
+            case TREASURE_FOUND:
+                hunter.addTreasure(Treasure.VALUES[a]);
+                break;
+            case DUG_FOR_GOLD:
+                if (a == 1) {
+                    dugOnce = true;
+                }
+                break;
+            case HUNTED_FOR_TREASURE:
+                if (a == 1) {
+                    currentTown.huntForTreasure();
+                }
+                break;
+            case GAME_ENDED:
+                outcome = a;
+                turns = b;
+                onGameEnded.accept(this);
+                break;
+            default:
+                // leaving town and brawls change nothing on their own; their effects have events of their own
+                break;
+        }
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public Hunter getHunter() {
+        return hunter;
+    }
+
+    public Town getCurrentTown() {
+        return currentTown;
+    }
+
+    public boolean hasDugOnce() {
+        return dugOnce;
+    }
+
+    /**
+     * Accessor method to get how the last game ended.
+     *
+     * @return The SimulatedGame.Outcome ordinal, or -1 for a game played by a person.
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+}
@@ -0,0 +1,77 @@
+package treasurehunter;
+
+import java.awt.Color;
+
+/**
+ * The GameScreen is the layout of the main game screen: fixed regions for the news, the hunter's status, the town and
+ * the menu, top to bottom. The game sets what every region should say each turn, and the screen remembers which regions
+ * actually changed since it was last shown, so an OutputSink can redraw only those.
+ */
+public class GameScreen {
+    /**
+     * The regions of the screen, in the order they are shown.
+     */
+    public enum Region {
+        NEWS, STATUS, TOWN, MENU;
+
+        static final Region[] VALUES = values();
+    }
+
+    // Instance variables
+    private final String[] texts;
+    private final Color[] colors;
+    private final boolean[] changed;
+
+    public GameScreen() {
+        texts = new String[Region.VALUES.length];
+        colors = new Color[Region.VALUES.length];
+        changed = new boolean[Region.VALUES.length];
+        for (Region region : Region.VALUES) {
+            texts[region.ordinal()] = "";
+            colors[region.ordinal()] = Color.black;
+        }
+    }
+
+    /**
+     * Sets what a region says. The region is only marked as changed if its text or color is different.
+     *
+     * @param region The region.
+     * @param text   The region's text, ending in a newline unless it is the last region.
+     * @param color  The color of the text.
+     */
+    public void set(Region region, String text, Color color) {
+        int i = region.ordinal();
+        if (!texts[i].equals(text) || !colors[i].equals(color)) {
+            texts[i] = text;
+            colors[i] = color;
+            changed[i] = true;
+        }
+    }
+
+    public String getText(Region region) {
+        return texts[region.ordinal()];
+    }
+
+    public Color getColor(Region region) {
+        return colors[region.ordinal()];
+    }
+
+    /**
+     * Accessor method to check if a region has changed since the screen was last shown.
+     *
+     * @param region The region.
+     * @return True if the region has to be redrawn.
+     */
+    public boolean isChanged(Region region) {
+        return changed[region.ordinal()];
+    }
+
+    /**
+     * Marks every region as shown, once an OutputSink has drawn the screen.
+     */
+    public void markShown() {
+        for (Region region : Region.VALUES) {
+            changed[region.ordinal()] = false;
+        }
+    }
+}
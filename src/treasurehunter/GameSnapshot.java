@@ -0,0 +1,121 @@
+package treasurehunter;
+
+/**
+ * A GameSnapshot is the state of a game at the end of one turn, as spectators see it: the hunter's gold, kit and
+ * treasures, and the town the hunter is in. It never changes once made, so it can be handed to any number of threads.
+ */
+public final class GameSnapshot {
+    // Instance variables
+    private final int turn;
+    private final String hunterName;
+    private final int gold;
+    private final int kitBits;
+    private final int treasureBits;
+    private final boolean bankrupt;
+    private final int townNumber;
+    private final int terrainType;
+    private final boolean toughTown;
+    private final boolean searchedTown;
+    private final String latestNews;
+
+    /**
+     * @param turn         The number of turns played.
+     * @param hunterName   The hunter's name.
+     * @param gold         The hunter's gold.
+     * @param kitBits      The hunter's kit, one bit per Item.
+     * @param treasureBits The treasures found, one bit per Treasure.
+     * @param bankrupt     Whether the hunter has run out of gold.
+     * @param townNumber   The number of the town the hunter is in.
+     * @param terrainType  The terrain around the town, from 0 (mountains) to 5 (marsh).
+     * @param toughTown    Whether the town is a tough town.
+     * @param searchedTown Whether the town's treasure has been searched for.
+     * @param latestNews   The last thing that happened in the town.
+     */
+    public GameSnapshot(int turn, String hunterName, int gold, int kitBits, int treasureBits, boolean bankrupt,
+                        int townNumber, int terrainType, boolean toughTown, boolean searchedTown, String latestNews) {
+        this.turn = turn;
+        this.hunterName = hunterName;
+        this.gold = gold;
+        this.kitBits = kitBits;
+        this.treasureBits = treasureBits;
+        this.bankrupt = bankrupt;
+        this.townNumber = townNumber;
+        this.terrainType = terrainType;
+        this.toughTown = toughTown;
+        this.searchedTown = searchedTown;
+        this.latestNews = latestNews;
+    }
+
+    /**
+     * Copies the state of a hunter and the town they are in.
+     *
+     * @param turn       The number of turns played.
+     * @param townNumber The number of the town.
+     * @param hunter     The hunter.
+     * @param town       The town the hunter is in.
+     * @return The snapshot.
+     */
+    public static GameSnapshot capture(int turn, int townNumber, Hunter hunter, Town town) {
+        return new GameSnapshot(turn, hunter.getHunterName(), hunter.getGold(), hunter.getKitBits(),
+                hunter.getTreasureBits(), hunter.isBankrupt(), townNumber, town.getTerrainType(), town.isToughTown(),
+                town.isSearched(), town.getLatestNews());
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public String getHunterName() {
+        return hunterName;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    public int getKitBits() {
+        return kitBits;
+    }
+
+    public int getTreasureBits() {
+        return treasureBits;
+    }
+
+    public boolean isBankrupt() {
+        return bankrupt;
+    }
+
+    /**
+     * Accessor method to check if the hunter had found every treasure, which wins the game.
+     *
+     * @return True if the hunter has the crown, the trophy and the gem.
+     */
+    public boolean hasAllTreasures() {
+        return treasureBits == Treasure.ALL_COLLECTIBLE;
+    }
+
+    public int getTownNumber() {
+        return townNumber;
+    }
+
+    public int getTerrainType() {
+        return terrainType;
+    }
+
+    public boolean isToughTown() {
+        return toughTown;
+    }
+
+    public boolean isSearchedTown() {
+        return searchedTown;
+    }
+
+    public String getLatestNews() {
+        return latestNews;
+    }
+
+    public String toString() {
+        return "Turn " + turn + ": " + hunterName + " has " + gold + " gold and " + Integer.bitCount(treasureBits)
+                + " treasures in town " + townNumber + " (" + Terrain.ofType(terrainType).getTerrainName() + ")";
+    }
+}
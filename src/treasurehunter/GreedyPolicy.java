@@ -0,0 +1,40 @@
+package treasurehunter;
+
+/**
+ * The GreedyPolicy is a simple bot that plays the way most new players do:
+ * hunt every town, dig when it has a shovel, buy whatever the terrain needs and brawl when it is short on gold.
+ */
+public class GreedyPolicy implements DecisionPolicy {
+
+    public String nextMove(SimulatedGame game) {
+        Hunter hunter = game.getHunter();
+        Town town = game.getCurrentTown();
+
+        if (hunter.getSamurai() && !hunter.hasItemInKit("sword")) {
+            return "b";
+        }
+        if (!game.hasHuntedHere()) {
+            return "h";
+        }
+        if (!game.hasDugOnce() && hunter.hasItemInKit("shovel")) {
+            return "d";
+        }
+
+        String neededItem = town.getTerrain().getNeededItem();
+        if (hunter.hasItemInKit(neededItem)) {
+            return "m";
+        }
+        if (hunter.getGold() >= game.getShop().checkMarketPrice(neededItem, true)) {
+            return "b";
+        }
+        return "l";
+    }
+
+    public String chooseItem(SimulatedGame game, String buyOrSell) {
+        Hunter hunter = game.getHunter();
+        if (hunter.getSamurai() && !hunter.hasItemInKit("sword")) {
+            return "sword";
+        }
+        return game.getCurrentTown().getTerrain().getNeededItem();
+    }
+}
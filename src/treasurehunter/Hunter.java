@@ -0,0 +1,461 @@
+package treasurehunter;
+
+/**
+ * Hunter Class
+ * This class represents the treasure hunter character (the player) in the Treasure Hunt game.
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ */
+public class Hunter {
+    // Instance variables
+    private String hunterName;
+    private int kit; // one bit per Item
+    private int kitCapacity;
+    private int gold;
+
+    private int treasure; // one bit per Treasure
+    private boolean samurai;
+    private boolean bankrupt;
+    private String status; // last toString() result, null once gold, kit or treasures change
+    private OutputSink outputWindow;
+    private GameEventListener eventListener;
+    private MetricsRecorder metrics;
+
+    /**
+     * The base constructor of a Hunter assigns the name to the hunter and an empty kit.
+     *
+     * @param hunterName   The hunter's name.
+     * @param startingGold The gold the hunter starts with.
+     * @param samurai      Whether the hunter is a samurai or not.
+     */
+    public Hunter(String hunterName, int startingGold, boolean samurai, OutputSink outputWindow) {
+        this.hunterName = hunterName;
+        kitCapacity = 7;
+        if (samurai) {
+            kitCapacity = 8;
+        }
+        gold = startingGold;
+        this.samurai = samurai;
+        this.outputWindow = outputWindow;
+        eventListener = GameEventListener.NONE;
+        metrics = MetricsRecorder.NONE;
+    }
+
+    /**
+     * Accessor method to get the hunter's name.
+     *
+     * @return The hunter's name.
+     */
+    public String getHunterName() {
+        return hunterName;
+    }
+
+    /**
+     * Accessor method to check if the hunter is a samurai.
+     *
+     * @return True if the hunter is a samurai, false otherwise.
+     */
+    public boolean getSamurai() {
+        return samurai;
+    }
+
+    /**
+     * Accessor method to get the kit as a set of bits, one per Item.
+     *
+     * @return The kit's bits.
+     */
+    public int getKitBits() {
+        return kit;
+    }
+
+    /**
+     * Accessor method to get the treasures found as a set of bits, one per Treasure.
+     *
+     * @return The treasure collection's bits.
+     */
+    public int getTreasureBits() {
+        return treasure;
+    }
+
+    /**
+     * Puts back a kit and treasure collection saved with getKitBits and getTreasureBits, such as when a saved game is loaded.
+     *
+     * @param kitBits      The kit's bits.
+     * @param treasureBits The treasure collection's bits.
+     */
+    public void restoreInventory(int kitBits, int treasureBits) {
+        kit = kitBits;
+        treasure = treasureBits;
+        status = null;
+    }
+
+    /**
+     * Sets who is told about every change to the hunter's gold, kit and treasures.
+     *
+     * @param eventListener The listener for the hunter's events.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Sets where the hunter's game counts what happens in it. The towns and shops the hunter visits count into it too.
+     *
+     * @param metrics The game's recorder.
+     */
+    public void setMetrics(MetricsRecorder metrics) {
+        this.metrics = metrics;
+    }
+
+    public MetricsRecorder getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Accessor method to get the hunter's gold.
+     *
+     * @return The amount of gold the hunter has.
+     */
+    public int getGold() {
+        return gold;
+    }
+
+    /**
+     * Accessor method to check if the hunter has run out of gold, which ends the game.
+     *
+     * @return True if the hunter's gold went below zero.
+     */
+    public boolean isBankrupt() {
+        return bankrupt;
+    }
+
+    /**
+     * Modifies the amount of gold the hunter has.
+     * Going below zero gold marks the hunter as bankrupt; the game loop is responsible for ending the game.
+     *
+     * @param modifier Amount to modify gold by.
+     */
+    public void changeGold(int modifier) {
+        gold += modifier;
+        status = null;
+        metrics.goldChanged(modifier);
+        eventListener.onEvent(GameEvent.GOLD_CHANGED, modifier, 0, 0);
+        if (gold < 0) {
+            bankrupt = true;
+        }
+    }
+
+    /**
+     * Allows the hunter to buy an item from a shop.
+     *
+     * @param item       The item the hunter is buying.
+     * @param costOfItem The cost of the item.
+     * @return True if the item is successfully bought.
+     */
+    public boolean buyItem(String item, int costOfItem) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && buyItem(kitItem, costOfItem);
+    }
+
+    /**
+     * Allows the hunter to buy an item from a shop.
+     *
+     * @param item       The item the hunter is buying.
+     * @param costOfItem The cost of the item.
+     * @return True if the item is successfully bought.
+     */
+    public boolean buyItem(Item item, int costOfItem) {
+        if ((costOfItem == 0 && !samurai) || gold < costOfItem || !putInKit(item)) {
+            return false;
+        }
+
+        gold -= costOfItem;
+        metrics.goldChanged(-costOfItem);
+        eventListener.onEvent(GameEvent.ITEM_BOUGHT, item.ordinal(), costOfItem, 0);
+        return true;
+    }
+
+    /**
+     * Allows the hunter to sell an item to a shop for gold.
+     *
+     * @param item         The item being sold.
+     * @param buyBackPrice The amount of gold earned from selling the item.
+     * @return True if the item was successfully sold.
+     */
+    public boolean sellItem(String item, int buyBackPrice) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && sellItem(kitItem, buyBackPrice);
+    }
+
+    /**
+     * Allows the hunter to sell an item to a shop for gold.
+     *
+     * @param item         The item being sold.
+     * @param buyBackPrice The amount of gold earned from selling the item.
+     * @return True if the item was successfully sold.
+     */
+    public boolean sellItem(Item item, int buyBackPrice) {
+        if (buyBackPrice <= 0 || !hasItemInKit(item)) {
+            return false;
+        }
+
+        gold += buyBackPrice;
+        metrics.goldChanged(buyBackPrice);
+        takeFromKit(item);
+        eventListener.onEvent(GameEvent.ITEM_SOLD, item.ordinal(), buyBackPrice, 0);
+        return true;
+    }
+
+    /**
+     * Removes an item from the kit.
+     *
+     * @param item The item to be removed.
+     */
+    public void removeItemFromKit(String item) {
+        Item kitItem = Item.fromName(item);
+        if (kitItem != null) {
+            removeItemFromKit(kitItem);
+        }
+    }
+
+    /**
+     * Removes an item from the kit.
+     *
+     * @param item The item to be removed.
+     */
+    public void removeItemFromKit(Item item) {
+        if (hasItemInKit(item)) {
+            takeFromKit(item);
+            eventListener.onEvent(GameEvent.ITEM_REMOVED, item.ordinal(), 0, 0);
+        }
+    }
+
+    /**
+     * Checks to make sure that the item is not already in the kit and that the kit has room for it.
+     * If so, the item is added to the kit.
+     *
+     * @param item The item to be added to the kit.
+     * @return True if the item is not in the kit and has been added.
+     */
+    public boolean addItem(String item) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && addItem(kitItem);
+    }
+
+    /**
+     * Checks to make sure that the item is not already in the kit and that the kit has room for it.
+     * If so, the item is added to the kit.
+     *
+     * @param item The item to be added to the kit.
+     * @return True if the item is not in the kit and has been added.
+     */
+    public boolean addItem(Item item) {
+        if (!putInKit(item)) {
+            return false;
+        }
+
+        eventListener.onEvent(GameEvent.ITEM_ADDED, item.ordinal(), 0, 0);
+        return true;
+    }
+
+    /**
+     * Adds a treasure to the hunter's collection. Dust is not worth collecting.
+     *
+     * @param item The treasure item to be added.
+     */
+    public void addTreasure(String item) {
+        Treasure found = Treasure.fromName(item);
+        if (found != null) {
+            addTreasure(found);
+        }
+    }
+
+    /**
+     * Adds a treasure to the hunter's collection. Dust is not worth collecting.
+     *
+     * @param item The treasure to be added.
+     */
+    public void addTreasure(Treasure item) {
+        if (item.isCollectible() && !hasTreasure(item)) {
+            treasure |= item.getBit();
+            status = null;
+            eventListener.onEvent(GameEvent.TREASURE_FOUND, item.ordinal(), 0, 0);
+        }
+    }
+
+    /**
+     * Checks if the kit has the specified item.
+     *
+     * @param item The search item.
+     * @return True if the item is found.
+     */
+    public boolean hasItemInKit(String item) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && hasItemInKit(kitItem);
+    }
+
+    /**
+     * Checks if the kit has the specified item.
+     *
+     * @param item The search item.
+     * @return True if the item is found.
+     */
+    public boolean hasItemInKit(Item item) {
+        return (kit & item.getBit()) != 0;
+    }
+
+    /**
+     * Checks if the hunter has a specific treasure.
+     *
+     * @param item The treasure item to check.
+     * @return True if the hunter has the treasure.
+     */
+    public boolean hasTreasure(String item) {
+        Treasure found = Treasure.fromName(item);
+        return found != null && hasTreasure(found);
+    }
+
+    /**
+     * Checks if the hunter has a specific treasure.
+     *
+     * @param item The treasure to check.
+     * @return True if the hunter has the treasure.
+     */
+    public boolean hasTreasure(Treasure item) {
+        return (treasure & item.getBit()) != 0;
+    }
+
+    /**
+     * Checks if the hunter has collected all three treasures, which wins the game.
+     *
+     * @return True if the hunter has the crown, the trophy and the gem.
+     */
+    public boolean hasAllTreasures() {
+        return treasure == Treasure.ALL_COLLECTIBLE;
+    }
+
+    /**
+     * Returns a printable representation of the inventory, which
+     * is a list of the items in kit, with a space between each item.
+     *
+     * @return The printable String representation of the inventory.
+     */
+    public String getInventory() {
+        return appendInventory(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the items in the kit to a builder, with a space after each item.
+     *
+     * @param builder The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendInventory(StringBuilder builder) {
+        for (Item item : Item.VALUES) {
+            if (hasItemInKit(item)) {
+                builder.append(item.getName()).append(' ');
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a printable representation of the list of treasures found.
+     *
+     * @return The printable String representation of the treasure list.
+     */
+    public String getTreasureList() {
+        return appendTreasureList(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the treasures found to a builder, or "none" if nothing has been found.
+     *
+     * @param builder The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendTreasureList(StringBuilder builder) {
+        if (treasureListIsEmpty()) {
+            builder.append("none");
+        }
+        for (Treasure item : Treasure.VALUES) {
+            if (hasTreasure(item)) {
+                builder.append("a ").append(item.getName()).append(' ');
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the hunter's status, in the same form as toString, to a builder.
+     *
+     * @param builder The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendStatus(StringBuilder builder) {
+        builder.append(hunterName).append(" has ").append(gold).append(" gold");
+        if (!kitIsEmpty()) {
+            appendInventory(builder.append(" and "));
+        }
+        if (!treasureListIsEmpty()) {
+            appendTreasureList(builder.append("\nTreasures found: "));
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a string representation of the hunter, including their name, gold, inventory, and treasures found.
+     * The string is only rebuilt after the gold, kit or treasures have changed.
+     *
+     * @return A string representation of the hunter.
+     */
+    public String toString() {
+        if (status == null) {
+            status = appendStatus(new StringBuilder(64)).toString();
+        }
+        return status;
+    }
+
+    /**
+     * Puts an item in the kit if it is not already there and the kit has room.
+     *
+     * @param item The item to be added.
+     * @return True if the item has been added.
+     */
+    private boolean putInKit(Item item) {
+        if (hasItemInKit(item) || Integer.bitCount(kit) >= kitCapacity) {
+            return false;
+        }
+
+        kit |= item.getBit();
+        status = null;
+        return true;
+    }
+
+    /**
+     * Takes an item out of the kit.
+     *
+     * @param item The item to be removed.
+     */
+    private void takeFromKit(Item item) {
+        kit &= ~item.getBit();
+        status = null;
+    }
+
+    /**
+     * Checks if the kit is empty.
+     *
+     * @return True if kit is completely empty.
+     */
+    private boolean kitIsEmpty() {
+        return kit == 0;
+    }
+
+    /**
+     * Checks if the list of treasures is empty.
+     *
+     * @return True if the list of treasures is empty.
+     */
+    private boolean treasureListIsEmpty() {
+        return treasure == 0;
+    }
+}
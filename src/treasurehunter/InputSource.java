@@ -0,0 +1,16 @@
+package treasurehunter;
+
+/**
+ * An InputSource is where the player's typing comes from. The keyboard is one,
+ * but a game can also be played from a network connection, a recorded script file, or lines queued up in memory.
+ * The game reads it through a CommandReader, which lets one line hold several answers.
+ */
+public interface InputSource {
+
+    /**
+     * Reads the next line the player typed, waiting for it if need be.
+     *
+     * @return The line without its line ending, or null if the player has gone away.
+     */
+    String readLine();
+}
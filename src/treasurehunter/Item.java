@@ -0,0 +1,69 @@
+package treasurehunter;
+
+/**
+ * The Item enum lists everything that can be carried in a hunter's kit.
+ * Each item owns one bit of the kit, so kits can be stored as a single int.
+ */
+public enum Item {
+    WATER("water"),
+    ROPE("rope"),
+    MACHETE("machete"),
+    HORSE("horse"),
+    BOAT("boat"),
+    BOOTS("boots"),
+    SHOVEL("shovel"),
+    SWORD("sword");
+
+    // values() makes a new array every call, so the game keeps one copy
+    static final Item[] VALUES = values();
+
+    private final String name;
+    private final int bit;
+
+    Item(String name) {
+        this.name = name;
+        bit = 1 << ordinal();
+    }
+
+    /**
+     * Finds the item with the given name.
+     *
+     * @param name The lowercase name of the item.
+     * @return The item, or null if there is no item with that name.
+     */
+    public static Item fromName(String name) {
+        switch (name) {
+            case "water":
+                return WATER;
+            case "rope":
+                return ROPE;
+            case "machete":
+                return MACHETE;
+            case "horse":
+                return HORSE;
+            case "boat":
+                return BOAT;
+            case "boots":
+                return BOOTS;
+            case "shovel":
+                return SHOVEL;
+            case "sword":
+                return SWORD;
+            default:
+                return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Accessor method to get the bit this item uses in a kit.
+     *
+     * @return A number with only this item's bit set.
+     */
+    public int getBit() {
+        return bit;
+    }
+}
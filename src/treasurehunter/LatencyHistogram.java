@@ -0,0 +1,123 @@
+package treasurehunter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class counts how long something took in a fixed set of buckets.
+ * Bucket i holds the times from 2^(i-1) up to 2^i nanoseconds, so recording a time is one bit count and one add,
+ * and the histogram never grows no matter how many times are recorded.
+ */
+public class LatencyHistogram {
+    // bucket 0 is 0 ns and the last bucket holds everything from about 1.1 seconds up
+    public static final int BUCKETS = 32;
+
+    // Instance variables
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos;
+
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        totalNanos = new LongAdder();
+    }
+
+    /**
+     * Counts one time.
+     *
+     * @param nanos How long it took, in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1)].increment();
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Copies the counts recorded so far. Times recorded while the copy is made may or may not be included.
+     *
+     * @return The copy.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum());
+    }
+
+    /**
+     * The largest time a bucket can hold.
+     *
+     * @param bucket The bucket's index.
+     * @return The bucket's upper bound in nanoseconds.
+     */
+    public static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    /**
+     * The counts of a histogram at one moment.
+     */
+    public static class Snapshot {
+        // Instance variables
+        private final long[] counts;
+        private final long totalNanos;
+
+        /**
+         * @param counts     How many times fell into each bucket.
+         * @param totalNanos All the recorded times added together.
+         */
+        public Snapshot(long[] counts, long totalNanos) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+        }
+
+        public long getCount(int bucket) {
+            return counts[bucket];
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getTotalCount() {
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            return count;
+        }
+
+        public double getMeanNanos() {
+            long count = getTotalCount();
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Finds the time that a share of the recorded times were at or under.
+         * The answer is the upper bound of the bucket it falls in, so it may be up to twice the real time.
+         *
+         * @param percentile The share, from 0 to 100.
+         * @return The time in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getPercentileNanos(double percentile) {
+            long count = getTotalCount();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+    }
+}
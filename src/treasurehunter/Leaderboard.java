@@ -0,0 +1,415 @@
+package treasurehunter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Leaderboard ranks won games from every session, for each difficulty, by fewest turns and by most gold.<p>
+ * Games hand in their results with submit, which only adds them to a lock-free queue, so a game never waits on the
+ * leaderboard. One background thread drains the queue every few milliseconds: it keeps the best K entries of every
+ * ranking in a heap whose root is the worst entry kept, and appends every entry to the leaderboard file. The heaps are
+ * then copied into sorted arrays that readers pick up without locking, so asking for the top 100 is one array copy.<p>
+ * The file only ever grows between compactions. Once enough entries have been appended since the last one, it is
+ * rewritten with just the entries still ranked, and the new file replaces the old one in a single move.<p>
+ * Only one process owns the file: the one holding the lock on the lock file beside it, which is the only one that
+ * appends to the file or compacts it. Any other process can open the leaderboard with readOnly to print the rankings,
+ * which reads the file once and never writes it, so the owner never appends to a file that was moved away.
+ */
+public final class Leaderboard implements Closeable {
+    /**
+     * The ways entries can be ranked.
+     */
+    public enum Ranking {
+        FEWEST_TURNS(Comparator.comparingInt(LeaderboardEntry::getTurns)
+                .thenComparing(Comparator.comparingInt(LeaderboardEntry::getGold).reversed())
+                .thenComparingLong(LeaderboardEntry::getFinishedAt)),
+        MOST_GOLD(Comparator.comparingInt(LeaderboardEntry::getGold).reversed()
+                .thenComparingInt(LeaderboardEntry::getTurns)
+                .thenComparingLong(LeaderboardEntry::getFinishedAt));
+
+        private final Comparator<LeaderboardEntry> order;
+
+        Ranking(Comparator<LeaderboardEntry> order) {
+            this.order = order;
+        }
+
+        /**
+         * Accessor method to get the order of this ranking.
+         *
+         * @return A comparator that puts better entries first.
+         */
+        public Comparator<LeaderboardEntry> getOrder() {
+            return order;
+        }
+    }
+
+    /** The number of entries kept in each ranking when no size is given. */
+    public static final int DEFAULT_SIZE = 100;
+    private static final long DRAIN_MILLIS = 50;
+    // rewrite the file once it holds this many entries for every entry still ranked
+    private static final int COMPACT_RATIO = 4;
+
+    // Instance variables
+    private final Path file;
+    private final int size;
+    private final Queue<LeaderboardEntry> submitted;
+    // indexed by difficulty ordinal, then ranking ordinal
+    private final Board[][] boards;
+    // null for a read-only leaderboard, which has no lock, no drainer and no file to append to
+    private final FileChannel lockChannel;
+    private final ScheduledExecutorService drainer;
+    private DataOutputStream out;
+    private long entriesInFile;
+
+    /**
+     * Opens a leaderboard with the default size, loading the entries already in its file.
+     *
+     * @param file The leaderboard file, which is created if it does not exist.
+     * @throws IOException If the file cannot be read or written.
+     */
+    public Leaderboard(Path file) throws IOException {
+        this(file, DEFAULT_SIZE);
+    }
+
+    /**
+     * Opens a leaderboard, loading the entries already in its file, and takes ownership of the file.
+     *
+     * @param file The leaderboard file, which is created if it does not exist.
+     * @param size The number of entries kept in each ranking.
+     * @throws IOException If the file cannot be read or written, or another leaderboard already owns it.
+     */
+    public Leaderboard(Path file, int size) throws IOException {
+        this(file, size, true);
+    }
+
+    /**
+     * Opens a leaderboard only to read its rankings, such as while a server owns the file and goes on writing it.
+     * The rankings are the ones in the file when it is opened. Nothing can be submitted to it, and it never writes,
+     * moves or locks the file.
+     *
+     * @param file The leaderboard file; a missing file is an empty leaderboard.
+     * @param size The number of entries kept in each ranking.
+     * @return The leaderboard.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Leaderboard readOnly(Path file, int size) throws IOException {
+        return new Leaderboard(file, size, false);
+    }
+
+    private Leaderboard(Path file, int size, boolean owner) throws IOException {
+        this.file = file;
+        this.size = size;
+        submitted = new ConcurrentLinkedQueue<>();
+        boards = new Board[Difficulty.values().length][Ranking.values().length];
+        for (Board[] rankings : boards) {
+            for (Ranking ranking : Ranking.values()) {
+                rankings[ranking.ordinal()] = new Board(ranking, size);
+            }
+        }
+
+        if (!owner) {
+            lockChannel = null;
+            drainer = null;
+            load();
+            publish();
+            return;
+        }
+        lockChannel = lock(file.resolveSibling(file.getFileName() + ".lock"));
+        try {
+            load();
+            // a crash can leave half a record at the end of the file, and compacting drops it
+            compact();
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+        publish();
+
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.scheduleWithFixedDelay(this::drainQuietly, DRAIN_MILLIS, DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks if this leaderboard owns its file, rather than having been opened with readOnly.
+     *
+     * @return True if games can be submitted to it.
+     */
+    public boolean isOwner() {
+        return drainer != null;
+    }
+
+    /**
+     * Hands in a won game. This never blocks; the entry shows up in the rankings within a few milliseconds.
+     *
+     * @param entry The won game.
+     * @throws IllegalStateException If the leaderboard was opened with readOnly.
+     */
+    public void submit(LeaderboardEntry entry) {
+        if (!isOwner()) {
+            throw new IllegalStateException("A read-only leaderboard cannot rank new games");
+        }
+        submitted.add(entry);
+    }
+
+    /**
+     * Lists the best entries of a ranking, best first. This takes time in proportion to the entries asked for.
+     *
+     * @param difficulty The difficulty to rank.
+     * @param ranking    How to rank the entries.
+     * @param count      The most entries to list.
+     * @return Up to count entries.
+     */
+    public List<LeaderboardEntry> getTop(Difficulty difficulty, Ranking ranking, int count) {
+        LeaderboardEntry[] ranked = boards[difficulty.ordinal()][ranking.ordinal()].ranked;
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(ranked, Math.min(count, ranked.length))));
+    }
+
+    /**
+     * Waits until every entry submitted so far is ranked and written to the file.
+     */
+    public void flush() {
+        if (!isOwner()) {
+            return;
+        }
+        try {
+            drainer.submit(() -> {
+                drain();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException(new IOException("Could not update the leaderboard", e.getCause()));
+        }
+    }
+
+    /**
+     * Ranks and writes out everything submitted so far, then closes the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void close() throws IOException {
+        if (!isOwner()) {
+            return;
+        }
+        drainer.shutdown();
+        try {
+            drainer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // the drainer has stopped, so nothing else touches the heaps or the file
+        try {
+            drain();
+            out.close();
+        } finally {
+            // closing the channel lets go of the lock
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * Takes the lock that makes this process the owner of the leaderboard file, and keeps it until close.
+     * The lock is on a file of its own because compacting replaces the leaderboard file, and a lock on the old file
+     * would not stop another process from opening the new one.
+     *
+     * @param lockFile The lock file, which is created if it does not exist.
+     * @return The open lock file, holding the lock.
+     * @throws IOException If the lock file cannot be opened, or another leaderboard holds the lock.
+     */
+    private static FileChannel lock(Path lockFile) throws IOException {
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // another leaderboard in this process holds it
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("The leaderboard is already open in another process: " + lockFile);
+        }
+        return channel;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (IOException | UncheckedIOException e) {
+            // the entries are still ranked in memory; the next drain or compaction tries the file again
+            System.err.println("Could not write the leaderboard file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ranks and writes out everything in the queue.
+     * Only one thread ever calls this at a time: the drainer, or close once the drainer has stopped.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    private void drain() throws IOException {
+        boolean drained = false;
+        LeaderboardEntry entry;
+        while ((entry = submitted.poll()) != null) {
+            rank(entry);
+            entry.writeTo(out);
+            entriesInFile++;
+            drained = true;
+        }
+        if (!drained) {
+            return;
+        }
+        out.flush();
+        publish();
+        if (entriesInFile > (long) COMPACT_RATIO * countRanked()) {
+            compact();
+        }
+    }
+
+    private void rank(LeaderboardEntry entry) {
+        for (Board board : boards[entry.getDifficulty().ordinal()]) {
+            board.offer(entry);
+        }
+    }
+
+    private void publish() {
+        for (Board[] rankings : boards) {
+            for (Board board : rankings) {
+                board.publish();
+            }
+        }
+    }
+
+    private int countRanked() {
+        return rankedEntries().size();
+    }
+
+    /**
+     * Collects every entry that is in at least one ranking, each once.
+     *
+     * @return The entries.
+     */
+    private Set<LeaderboardEntry> rankedEntries() {
+        Set<LeaderboardEntry> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Board[] rankings : boards) {
+            for (Board board : rankings) {
+                entries.addAll(board.heap);
+            }
+        }
+        return entries;
+    }
+
+    private void load() throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            while (true) {
+                rank(LeaderboardEntry.readFrom(in));
+            }
+        } catch (NoSuchFileException | EOFException e) {
+            // no file yet, or the end of it
+        }
+    }
+
+    /**
+     * Rewrites the file with only the entries still ranked, and goes on appending to the new file.
+     * Only the owner calls this, while it holds the lock.
+     *
+     * @throws IOException If the file cannot be rewritten.
+     */
+    private void compact() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+        Set<LeaderboardEntry> entries = rankedEntries();
+        try (DataOutputStream rewritten = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (LeaderboardEntry entry : entries) {
+                entry.writeTo(rewritten);
+            }
+        }
+        if (out != null) {
+            out.close();
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        entriesInFile = entries.size();
+    }
+
+    /**
+     * A Board is one ranking of one difficulty.
+     */
+    private static class Board {
+        private final Comparator<LeaderboardEntry> order;
+        private final int size;
+        // the worst entry kept is at the root, so a new entry only has to beat the root to get in
+        private final PriorityQueue<LeaderboardEntry> heap;
+        private boolean changed;
+        private volatile LeaderboardEntry[] ranked;
+
+        Board(Ranking ranking, int size) {
+            order = ranking.getOrder();
+            this.size = size;
+            heap = new PriorityQueue<>(size + 1, order.reversed());
+            ranked = new LeaderboardEntry[0];
+        }
+
+        void offer(LeaderboardEntry entry) {
+            if (heap.size() < size) {
+                heap.add(entry);
+                changed = true;
+            } else if (order.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+                changed = true;
+            }
+        }
+
+        void publish() {
+            if (!changed) {
+                return;
+            }
+            LeaderboardEntry[] sorted = heap.toArray(new LeaderboardEntry[0]);
+            Arrays.sort(sorted, order);
+            ranked = sorted;
+            changed = false;
+        }
+    }
+}
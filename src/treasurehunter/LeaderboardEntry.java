@@ -0,0 +1,91 @@
+package treasurehunter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A LeaderboardEntry is one won game on the Leaderboard: who won it, at which difficulty, in how many turns,
+ * and with how much gold left over.
+ */
+public class LeaderboardEntry {
+    // Instance variables
+    private final String hunterName;
+    private final Difficulty difficulty;
+    private final int turns;
+    private final int gold;
+    private final long finishedAt;
+
+    /**
+     * @param hunterName The name of the hunter who won.
+     * @param difficulty The difficulty the game was played at.
+     * @param turns      The number of turns it took to find all three treasures.
+     * @param gold       The hunter's gold at the end of the game.
+     * @param finishedAt When the game was won, in milliseconds since the epoch.
+     */
+    public LeaderboardEntry(String hunterName, Difficulty difficulty, int turns, int gold, long finishedAt) {
+        this.hunterName = hunterName;
+        this.difficulty = difficulty;
+        this.turns = turns;
+        this.gold = gold;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getHunterName() {
+        return hunterName;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Writes the entry as one record of a leaderboard file.
+     *
+     * @param out Where the record is written.
+     * @throws IOException If the record cannot be written.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(hunterName);
+        out.writeByte(difficulty.ordinal());
+        out.writeInt(turns);
+        out.writeInt(gold);
+        out.writeLong(finishedAt);
+    }
+
+    /**
+     * Reads one record written by writeTo.
+     *
+     * @param in Where the record is read from.
+     * @return The entry.
+     * @throws IOException If the record cannot be read, including an EOFException at the end of the file.
+     */
+    static LeaderboardEntry readFrom(DataInput in) throws IOException {
+        String hunterName = in.readUTF();
+        int mode = in.readUnsignedByte();
+        if (mode >= Difficulty.values().length) {
+            throw new IOException("Unknown difficulty " + mode + " in leaderboard record");
+        }
+        Difficulty difficulty = Difficulty.values()[mode];
+        int turns = in.readInt();
+        int gold = in.readInt();
+        long finishedAt = in.readLong();
+        return new LeaderboardEntry(hunterName, difficulty, turns, gold, finishedAt);
+    }
+
+    public String toString() {
+        return hunterName + " won " + difficulty.getMode() + " in " + turns + " turns with " + gold + " gold";
+    }
+}
@@ -0,0 +1,33 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Prints the best games of every difficulty from a leaderboard file.
+ * The file is only read, so this can run while a server is writing it.
+ * Usage: java LeaderboardRunner [leaderboard file] [entries per ranking]
+ */
+public class LeaderboardRunner {
+    public static void main(String[] args) throws IOException {
+        RunnerArgs arguments = new RunnerArgs(args);
+        Path file = arguments.getPath(0, Path.of("treasurehunter-leaderboard.dat"));
+        int count = arguments.getInt(1, 10);
+
+        try (Leaderboard leaderboard = Leaderboard.readOnly(file, Leaderboard.DEFAULT_SIZE)) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                for (Leaderboard.Ranking ranking : Leaderboard.Ranking.values()) {
+                    List<LeaderboardEntry> top = leaderboard.getTop(difficulty, ranking, count);
+                    if (top.isEmpty()) {
+                        continue;
+                    }
+                    System.out.println(difficulty + ", " + ranking + ":");
+                    for (int i = 0; i < top.size(); i++) {
+                        System.out.printf("%4d. %s%n", i + 1, top.get(i));
+                    }
+                }
+            }
+        }
+    }
+}
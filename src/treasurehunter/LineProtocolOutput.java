@@ -0,0 +1,52 @@
+package treasurehunter;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * The LineProtocolOutput sends the game as plain lines of text, for players connected to the game server.
+ * Colors and clears are dropped, and every flush ends on a newline so that each prompt arrives as a whole line.
+ */
+public class LineProtocolOutput implements OutputSink {
+    private final Writer out;
+    private boolean midLine;
+
+    /**
+     * Creates an output that writes to the given writer.
+     *
+     * @param out Where the text is written.
+     */
+    public LineProtocolOutput(Writer out) {
+        this.out = new BufferedWriter(out);
+    }
+
+    public void addTextToWindow(String text, Color color) {
+        if (text.isEmpty()) {
+            return;
+        }
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        midLine = text.charAt(text.length() - 1) != '\n';
+    }
+
+    public void clear() {
+    }
+
+    public void flush() {
+        try {
+            if (midLine) {
+                out.write('\n');
+                midLine = false;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
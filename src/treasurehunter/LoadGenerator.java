@@ -0,0 +1,125 @@
+package treasurehunter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The LoadGenerator opens many bot sessions against a running TreasureHunterServer at the same time.
+ * Each bot plays random moves from the main menu and times how long the server takes to answer each one.
+ * Usage: java LoadGenerator [sessions] [moves per session] [host] [port]
+ */
+public class LoadGenerator {
+    private static final String MOVE_PROMPT = "What's your next move?";
+    private static final String[] MOVES = {"h", "l", "d", "m"};
+
+    public static void main(String[] args) throws Exception {
+        RunnerArgs arguments = new RunnerArgs(args);
+        int sessions = arguments.getInt(0, 1000);
+        int movesPerSession = arguments.getInt(1, 50);
+        String host = arguments.get(2, "localhost");
+        int port = arguments.getInt(3, TreasureHunterServer.DEFAULT_PORT);
+
+        List<Future<long[]>> bots = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int botNumber = i;
+                String botHost = host;
+                int botPort = port;
+                int moves = movesPerSession;
+                bots.add(executor.submit(() -> playBot(botHost, botPort, botNumber, moves)));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = new long[0];
+        for (Future<long[]> bot : bots) {
+            long[] botLatencies = bot.get();
+            int oldLength = latencies.length;
+            latencies = Arrays.copyOf(latencies, oldLength + botLatencies.length);
+            System.arraycopy(botLatencies, 0, latencies, oldLength, botLatencies.length);
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%d sessions in %.2f seconds (%.0f sessions/sec)%n", sessions, seconds, sessions / seconds);
+        System.out.printf("%d turns, p50 %.3f ms, p99 %.3f ms%n", latencies.length,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+    }
+
+    /**
+     * Plays one bot session.
+     *
+     * @param host  The server's host.
+     * @param port  The server's port.
+     * @param seed  The seed for the bot's moves.
+     * @param moves How many moves to make before giving up the hunt.
+     * @return The time each move took to be answered, in nanoseconds.
+     * @throws IOException If the connection fails.
+     */
+    private static long[] playBot(String host, int port, long seed, int moves) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[moves];
+        int turns = 0;
+
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            out.println("bot" + seed);
+            out.println("n");
+            if (!waitForPrompt(in)) {
+                return latencies;
+            }
+
+            while (turns < moves) {
+                long sent = System.nanoTime();
+                out.println(MOVES[random.nextInt(MOVES.length)]);
+                if (!waitForPrompt(in)) {
+                    // the game ended: the bot won or went bankrupt
+                    break;
+                }
+                latencies[turns] = System.nanoTime() - sent;
+                turns++;
+            }
+            out.println("x");
+        }
+        return Arrays.copyOf(latencies, turns);
+    }
+
+    /**
+     * Reads lines until the server asks for the next move.
+     *
+     * @param in The server's output.
+     * @return False if the server closed the connection first.
+     * @throws IOException If the connection fails.
+     */
+    private static boolean waitForPrompt(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        while (line != null) {
+            if (line.startsWith(MOVE_PROMPT)) {
+                return true;
+            }
+            line = in.readLine();
+        }
+        return false;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,160 @@
+package treasurehunter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The Metrics class counts what hunters do in every game played by this process, and how long their turns take.<p>
+ * The counters are striped like a LongAdder, except that each stripe is a MetricsRecorder written by one game at a
+ * time, so counting never needs a compare-and-swap. Games on platform threads share that thread's recorder; games on
+ * virtual threads borrow one from a pool, so a server with a thread per player does not grow a stripe per player.
+ * A snapshot adds all the stripes together. Only one turn in every "treasurehunter.metrics.sample" turns (64 unless
+ * set) is timed, into fixed-bucket histograms.<p>
+ * Start the JVM with -Dtreasurehunter.metrics=false to turn everything off. ENABLED is a constant, so the
+ * compiler then drops the recording code entirely.
+ */
+public final class Metrics {
+    public static final boolean ENABLED = !"false".equals(System.getProperty("treasurehunter.metrics"));
+    static final int SAMPLE_EVERY = Math.max(1, Integer.getInteger("treasurehunter.metrics.sample", 64));
+    // returned by MetricsRecorder.startTurn for turns that are not timed
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    /**
+     * The things that are counted.
+     */
+    public enum Counter {
+        GAMES_STARTED,
+        GAMES_ENDED,
+        TURNS,
+        TOWN_MOVES,
+        TOWN_MOVES_BLOCKED,
+        ITEMS_BROKEN,
+        BRAWLS,
+        BRAWLS_WON,
+        BRAWLS_LOST,
+        NO_TROUBLE_FOUND,
+        DIGS,
+        DIGS_STRUCK_GOLD,
+        TREASURE_HUNTS,
+        TREASURES_FOUND,
+        SHOP_PURCHASES,
+        SHOP_FREEBIES,
+        SHOP_SALES,
+        SHOP_REFUSALS
+    }
+
+    /**
+     * The kinds of turn that are timed. TURN holds every timed turn, whatever the move was.
+     * A SHOP turn in a game played by a person includes the time taken to answer the shopkeeper.
+     */
+    public enum Timer {
+        TURN,
+        SHOP,
+        MOVE,
+        LOOK,
+        DIG,
+        HUNT,
+        OTHER
+    }
+
+    // every recorder ever handed out; there is one per platform thread plus as many as games ever ran at once on virtual threads
+    private static final Queue<MetricsRecorder> RECORDERS = new ConcurrentLinkedQueue<>();
+    private static final Queue<MetricsRecorder> FREE_RECORDERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<MetricsRecorder> THREAD_RECORDER = ThreadLocal.withInitial(() -> register(false));
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[Timer.values().length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Gets a recorder for a game that is about to be played on this thread.
+     *
+     * @return The recorder, or MetricsRecorder.NONE when metrics are turned off.
+     */
+    public static MetricsRecorder openRecorder() {
+        if (!ENABLED) {
+            return MetricsRecorder.NONE;
+        }
+        if (!Thread.currentThread().isVirtual()) {
+            return THREAD_RECORDER.get();
+        }
+        MetricsRecorder recorder = FREE_RECORDERS.poll();
+        return recorder != null ? recorder : register(true);
+    }
+
+    /**
+     * Gives back a recorder once its game is over. The recorder's counts stay in the totals.
+     *
+     * @param recorder The recorder from openRecorder.
+     */
+    public static void closeRecorder(MetricsRecorder recorder) {
+        if (recorder.isPooled()) {
+            FREE_RECORDERS.add(recorder);
+        }
+    }
+
+    private static MetricsRecorder register(boolean pooled) {
+        MetricsRecorder recorder = new MetricsRecorder(true, pooled);
+        RECORDERS.add(recorder);
+        return recorder;
+    }
+
+    static void recordTurn(Timer timer, long nanos) {
+        HISTOGRAMS[Timer.TURN.ordinal()].record(nanos);
+        HISTOGRAMS[timer.ordinal()].record(nanos);
+    }
+
+    /**
+     * Picks the timer for a menu choice.
+     *
+     * @param choice The choice typed at the menu.
+     * @return The timer for that kind of turn.
+     */
+    public static Timer timerFor(String choice) {
+        switch (choice) {
+            case "b":
+            case "s":
+                return Timer.SHOP;
+            case "m":
+                return Timer.MOVE;
+            case "l":
+                return Timer.LOOK;
+            case "d":
+                return Timer.DIG;
+            case "h":
+                return Timer.HUNT;
+            default:
+                return Timer.OTHER;
+        }
+    }
+
+    /**
+     * Adds up every counter, histogram and gauge. Numbers that change while this runs may or may not be included.
+     *
+     * @return The totals.
+     */
+    public static MetricsSnapshot snapshot() {
+        Counter[] counters = Counter.values();
+        long[] totals = new long[counters.length + 1];
+        for (MetricsRecorder recorder : RECORDERS) {
+            recorder.addTo(totals);
+        }
+        Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+        for (Counter counter : counters) {
+            counts.put(counter, totals[counter.ordinal()]);
+        }
+        Map<Timer, LatencyHistogram.Snapshot> histograms = new EnumMap<>(Timer.class);
+        for (Timer timer : Timer.values()) {
+            histograms.put(timer, HISTOGRAMS[timer.ordinal()].snapshot());
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), counts, histograms, totals[counters.length]);
+    }
+}
@@ -0,0 +1,135 @@
+package treasurehunter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The MetricsRecorder class is one stripe of the Metrics counters, written by one game at a time.<p>
+ * Because only one thread ever writes to a recorder, counting is a plain add with no locking or compare-and-swap,
+ * which keeps the cost well under the cost of a simulated move. The adds are opaque writes, so a snapshot taken on
+ * another thread always sees whole numbers, even if they are a moment out of date.<p>
+ * Get one from Metrics.openRecorder when a game starts, and give it back with Metrics.closeRecorder when it ends.
+ */
+public class MetricsRecorder {
+    /**
+     * A recorder that records nothing, for hunters that are not part of a counted game.
+     */
+    public static final MetricsRecorder NONE = new MetricsRecorder(false, false);
+
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int COUNTERS = Metrics.Counter.values().length;
+    // the gold gauge is kept after the counters
+    private static final int GOLD = COUNTERS;
+
+    // Instance variables
+    private final boolean recording;
+    private final boolean pooled;
+    private final long[] counts;
+    private int turnsUntilTimed;
+
+    /**
+     * @param recording False for a recorder that drops everything.
+     * @param pooled    True if the recorder is shared out to games from a pool rather than owned by one thread.
+     */
+    MetricsRecorder(boolean recording, boolean pooled) {
+        this.recording = recording;
+        this.pooled = pooled;
+        counts = new long[COUNTERS + 1];
+        turnsUntilTimed = 1;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Adds one to a counter.
+     *
+     * @param counter The counter.
+     */
+    public void count(Metrics.Counter counter) {
+        if (Metrics.ENABLED && recording) {
+            add(counter.ordinal(), 1);
+        }
+    }
+
+    /**
+     * Counts a game starting, and the hunter's gold as now being in circulation.
+     *
+     * @param gold The gold the hunter starts with.
+     */
+    public void gameStarted(int gold) {
+        if (Metrics.ENABLED && recording) {
+            add(Metrics.Counter.GAMES_STARTED.ordinal(), 1);
+            add(GOLD, gold);
+        }
+    }
+
+    /**
+     * Counts a game ending, and takes the hunter's gold out of circulation.
+     *
+     * @param gold The gold the hunter ends with.
+     */
+    public void gameEnded(int gold) {
+        if (Metrics.ENABLED && recording) {
+            add(Metrics.Counter.GAMES_ENDED.ordinal(), 1);
+            add(GOLD, -gold);
+        }
+    }
+
+    /**
+     * Records gold going to or from a hunter.
+     *
+     * @param amount The change in the hunter's gold.
+     */
+    public void goldChanged(int amount) {
+        if (Metrics.ENABLED && recording) {
+            add(GOLD, amount);
+        }
+    }
+
+    /**
+     * Counts a turn and decides whether to time it. Reading the clock costs about as much as a simulated move,
+     * so only one turn in every Metrics.SAMPLE_EVERY is timed.
+     *
+     * @return The value to hand to stopTurn once the turn is over.
+     */
+    public long startTurn() {
+        if (!Metrics.ENABLED || !recording) {
+            return Metrics.NOT_TIMED;
+        }
+        add(Metrics.Counter.TURNS.ordinal(), 1);
+        if (--turnsUntilTimed > 0) {
+            return Metrics.NOT_TIMED;
+        }
+        turnsUntilTimed = Metrics.SAMPLE_EVERY;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records how long a turn took, if startTurn chose to time it.
+     *
+     * @param choice The choice made at the menu, which decides the kind of turn.
+     * @param start  What startTurn returned.
+     */
+    public void stopTurn(String choice, long start) {
+        if (Metrics.ENABLED && start != Metrics.NOT_TIMED) {
+            Metrics.recordTurn(Metrics.timerFor(choice), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds this recorder's counts to a running total.
+     *
+     * @param totals The counters by ordinal, followed by the gold gauge.
+     */
+    void addTo(long[] totals) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += (long) COUNTS.getOpaque(counts, i);
+        }
+    }
+
+    private void add(int index, long amount) {
+        COUNTS.setOpaque(counts, index, (long) COUNTS.getOpaque(counts, index) + amount);
+    }
+}
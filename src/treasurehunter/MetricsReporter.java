@@ -0,0 +1,68 @@
+package treasurehunter;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MetricsReporter class prints a snapshot of Metrics at a fixed interval on a background thread,
+ * and one last time when it is closed. Nothing is started when metrics are turned off.
+ */
+public class MetricsReporter implements AutoCloseable {
+    // Instance variables
+    private final PrintStream out;
+    private final boolean json;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Starts printing snapshots.
+     *
+     * @param out             Where the snapshots are printed.
+     * @param json            True to print each snapshot as a line of JSON, false for plain text.
+     * @param intervalSeconds How often to print.
+     */
+    public MetricsReporter(PrintStream out, boolean json, long intervalSeconds) {
+        this.out = out;
+        this.json = json;
+        if (!Metrics.ENABLED) {
+            timer = null;
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> print(out, json), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Prints a snapshot now.
+     */
+    public void report() {
+        print(out, json);
+    }
+
+    private static void print(PrintStream out, boolean json) {
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        if (json) {
+            out.println(snapshot.toJson());
+        } else {
+            out.print(snapshot.toText());
+        }
+        out.flush();
+    }
+
+    /**
+     * Stops the background thread and prints a final snapshot.
+     */
+    @Override
+    public void close() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        report();
+    }
+}
@@ -0,0 +1,134 @@
+package treasurehunter;
+
+import java.util.Map;
+
+/**
+ * The MetricsSnapshot class holds the counters, turn times and gauges of Metrics at one moment,
+ * and writes them out as plain text for people or JSON for other programs.
+ */
+public class MetricsSnapshot {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    // Instance variables
+    private final long timeMillis;
+    private final Map<Metrics.Counter, Long> counts;
+    private final Map<Metrics.Timer, LatencyHistogram.Snapshot> histograms;
+    private final long goldInCirculation;
+
+    /**
+     * @param timeMillis        When the snapshot was taken, in milliseconds since 1970.
+     * @param counts            The value of every counter.
+     * @param histograms        The turn times of every kind of turn.
+     * @param goldInCirculation The gold held by hunters in games that have not ended.
+     */
+    public MetricsSnapshot(long timeMillis, Map<Metrics.Counter, Long> counts,
+                           Map<Metrics.Timer, LatencyHistogram.Snapshot> histograms, long goldInCirculation) {
+        this.timeMillis = timeMillis;
+        this.counts = counts;
+        this.histograms = histograms;
+        this.goldInCirculation = goldInCirculation;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getCount(Metrics.Counter counter) {
+        return counts.get(counter);
+    }
+
+    public LatencyHistogram.Snapshot getHistogram(Metrics.Timer timer) {
+        return histograms.get(timer);
+    }
+
+    public long getGoldInCirculation() {
+        return goldInCirculation;
+    }
+
+    public long getGamesInProgress() {
+        return getCount(Metrics.Counter.GAMES_STARTED) - getCount(Metrics.Counter.GAMES_ENDED);
+    }
+
+    /**
+     * Writes the snapshot as lines of "name value", leaving out turn kinds that were never timed.
+     *
+     * @return The text.
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("metrics at ").append(timeMillis).append('\n');
+        for (Map.Entry<Metrics.Counter, Long> entry : counts.entrySet()) {
+            text.append(entry.getKey().name().toLowerCase()).append(' ').append(entry.getValue()).append('\n');
+        }
+        text.append("games_in_progress ").append(getGamesInProgress()).append('\n');
+        text.append("gold_in_circulation ").append(goldInCirculation).append('\n');
+        for (Map.Entry<Metrics.Timer, LatencyHistogram.Snapshot> entry : histograms.entrySet()) {
+            LatencyHistogram.Snapshot histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            text.append(entry.getKey().name().toLowerCase()).append("_nanos count ").append(histogram.getTotalCount());
+            text.append(" mean ").append(Math.round(histogram.getMeanNanos()));
+            for (double percentile : PERCENTILES) {
+                text.append(" p").append(percentileName(percentile)).append(' ').append(histogram.getPercentileNanos(percentile));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the snapshot as a single line of JSON, including the raw bucket counts of every histogram.
+     *
+     * @return The JSON.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"time\":").append(timeMillis).append(",\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<Metrics.Counter, Long> entry : counts.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(entry.getKey().name().toLowerCase()).append("\":").append(entry.getValue());
+        }
+        json.append("},\"gauges\":{\"games_in_progress\":").append(getGamesInProgress());
+        json.append(",\"gold_in_circulation\":").append(goldInCirculation).append("},\"timers\":{");
+        first = true;
+        for (Map.Entry<Metrics.Timer, LatencyHistogram.Snapshot> entry : histograms.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            LatencyHistogram.Snapshot histogram = entry.getValue();
+            json.append('"').append(entry.getKey().name().toLowerCase()).append("\":{\"count\":").append(histogram.getTotalCount());
+            json.append(",\"total_nanos\":").append(histogram.getTotalNanos());
+            for (double percentile : PERCENTILES) {
+                json.append(",\"p").append(percentileName(percentile)).append("\":").append(histogram.getPercentileNanos(percentile));
+            }
+            json.append(",\"buckets\":[");
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(histogram.getCount(i));
+            }
+            json.append("]}");
+        }
+        json.append("}}");
+        return json.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    private static String percentileName(double percentile) {
+        if (percentile == Math.rint(percentile)) {
+            return Long.toString((long) percentile);
+        }
+        return Double.toString(percentile).replace(".", "");
+    }
+}
@@ -0,0 +1,19 @@
+package treasurehunter;
+
+import java.awt.Color;
+
+/**
+ * The NullOutput throws all text away. It is used by simulations, where nobody reads the messages.
+ */
+public final class NullOutput implements OutputSink {
+    public static final NullOutput INSTANCE = new NullOutput();
+
+    private NullOutput() {
+    }
+
+    public void addTextToWindow(String text, Color color) {
+    }
+
+    public void clear() {
+    }
+}
@@ -0,0 +1,30 @@
+package treasurehunter;
+
+/**
+ * The OptimalPolicy plays the moves PolicySolver found to give the best chance of winning.
+ * It only knows the difficulty it was solved for.
+ */
+public class OptimalPolicy implements DecisionPolicy {
+    // Instance variables
+    private final PolicySolution solution;
+
+    public OptimalPolicy(PolicySolution solution) {
+        this.solution = solution;
+    }
+
+    public String nextMove(SimulatedGame game) {
+        return PolicySolution.menuChoice(move(game));
+    }
+
+    public String chooseItem(SimulatedGame game, String buyOrSell) {
+        String item = PolicySolution.tradedItem(move(game));
+        return item != null ? item : "";
+    }
+
+    private int move(SimulatedGame game) {
+        Hunter hunter = game.getHunter();
+        Town town = game.getCurrentTown();
+        return solution.getMove(hunter.getGold(), hunter.getKitBits(), hunter.getTreasureBits(), town.getTerrainType(),
+                town.isToughTown(), game.hasDugOnce(), game.hasHuntedHere());
+    }
+}
@@ -0,0 +1,44 @@
+package treasurehunter;
+
+import java.awt.Color;
+
+/**
+ * An OutputSink is where the game's text goes. The Swing OutputWindow is one,
+ * but the game can also be shown in a terminal, kept in memory, or thrown away when nobody is watching.
+ */
+public interface OutputSink {
+
+    /**
+     * Adds text in the given color to the end of the output.
+     *
+     * @param text  The text to add.
+     * @param color The color of the text.
+     */
+    void addTextToWindow(String text, Color color);
+
+    /**
+     * Removes everything that has been shown so far.
+     */
+    void clear();
+
+    /**
+     * Replaces everything shown so far with the game screen, then marks the screen as shown.
+     * Sinks that can change part of what they show, like the Swing window, redraw only the regions that changed.
+     *
+     * @param screen The game screen.
+     */
+    default void showScreen(GameScreen screen) {
+        clear();
+        for (GameScreen.Region region : GameScreen.Region.VALUES) {
+            addTextToWindow(screen.getText(region), screen.getColor(region));
+        }
+        screen.markShown();
+    }
+
+    /**
+     * Pushes everything added since the last flush to the player.
+     * The game calls this once per turn, right before it waits for input.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,222 @@
+package treasurehunter;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JFrame;
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.StyledDocument;
+
+/**
+ * The OutputWindow shows the game in a Swing window.
+ * Text added during a turn is collected into a frame and handed to the Swing event thread in one batch when the game flushes,
+ * so the window is laid out once per turn and the document is only ever touched on the event thread.
+ * The main game screen is kept in the document between turns: showScreen only replaces the regions of the screen that
+ * changed, and whatever was added below them since, instead of rebuilding the whole document every turn.
+ * The add, clear, showScreen and flush methods are meant to be called from the game thread.
+ */
+public class OutputWindow implements OutputSink {
+    private static final int FONT_SIZE = 25;
+
+    // only used on the game thread
+    private final Map<Color, AttributeSet> colorStyles = new HashMap<>();
+    private List<Edit> frameEdits = new ArrayList<>();
+    private boolean frameClears;
+    // the length the document will have once every edit so far is made
+    private int documentLength;
+    // the game screen's regions start the document while this is true
+    private boolean screenShown;
+    private final int[] regionLengths = new int[GameScreen.Region.VALUES.length];
+
+    // only used on the event thread
+    private JTextPane textPane;
+
+    public OutputWindow() {
+        SwingUtilities.invokeLater(this::createFrame);
+    }
+
+    private void createFrame() {
+        JFrame frame = new JFrame("Test");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // causes program to end when window is X'd out
+        frame.setSize(750, 400); // window size
+        frame.setLocation(300, 50); // where on screen window appears
+        textPane = new JTextPane(); // panel that can handle custom text
+        textPane.setEditable(false); // prevents user from typing into window
+        frame.add(textPane); // add the panel to the frame
+        frame.setVisible(true); // display the frame on screen
+    }
+
+    public void addTextToWindow(String text, Color color) {
+        AttributeSet style = styleFor(color);
+        int last = frameEdits.size() - 1;
+        if (last >= 0 && frameEdits.get(last).style == style && frameEdits.get(last).end() == documentLength) {
+            // same color as the run right before it, so it can go into the document in one insert
+            frameEdits.get(last).text += text;
+        } else {
+            frameEdits.add(new Edit(documentLength, 0, text, style));
+        }
+        documentLength += text.length();
+    }
+
+    public void clear() {
+        frameEdits.clear();
+        frameClears = true; // the next flush replaces the whole document
+        documentLength = 0;
+        screenShown = false;
+    }
+
+    public void showScreen(GameScreen screen) {
+        FlightEvents.Render event = new FlightEvents.Render();
+        event.begin();
+        // drawing the whole screen again starts a new frame
+        int firstEdit = screenShown ? frameEdits.size() : 0;
+        updateScreen(screen);
+        commitRender(event, "show screen", frameEdits, firstEdit);
+    }
+
+    private void updateScreen(GameScreen screen) {
+        if (!screenShown) {
+            clear();
+            for (GameScreen.Region region : GameScreen.Region.VALUES) {
+                addTextToWindow(screen.getText(region), screen.getColor(region));
+                regionLengths[region.ordinal()] = screen.getText(region).length();
+            }
+            screenShown = true;
+            screen.markShown();
+            return;
+        }
+
+        int offset = 0;
+        for (int length : regionLengths) {
+            offset += length;
+        }
+        if (documentLength > offset) {
+            // everything below the screen, such as a talk with the shopkeeper
+            frameEdits.add(new Edit(offset, documentLength - offset, "", null));
+            documentLength = offset;
+        }
+        offset = 0;
+        for (GameScreen.Region region : GameScreen.Region.VALUES) {
+            int i = region.ordinal();
+            if (screen.isChanged(region)) {
+                String text = screen.getText(region);
+                frameEdits.add(new Edit(offset, regionLengths[i], text, styleFor(screen.getColor(region))));
+                documentLength += text.length() - regionLengths[i];
+                regionLengths[i] = text.length();
+            }
+            offset += regionLengths[i];
+        }
+        screen.markShown();
+    }
+
+    public void flush() {
+        if (frameEdits.isEmpty() && !frameClears) {
+            return;
+        }
+
+        FlightEvents.Render event = new FlightEvents.Render();
+        event.begin();
+        List<Edit> edits = frameEdits;
+        frameEdits = new ArrayList<>();
+
+        if (frameClears) {
+            frameClears = false;
+            // the new document is not shown yet, so it can be filled in on this thread
+            StyledDocument doc = new DefaultStyledDocument();
+            applyEdits(doc, edits);
+            SwingUtilities.invokeLater(() -> textPane.setStyledDocument(doc));
+        } else {
+            SwingUtilities.invokeLater(() -> applyEdits(textPane.getStyledDocument(), edits));
+        }
+        commitRender(event, "flush", edits, 0);
+    }
+
+    /**
+     * Finds the style for a color, creating it the first time the color is used.
+     *
+     * @param color The text color.
+     * @return The shared style for that color.
+     */
+    private AttributeSet styleFor(Color color) {
+        AttributeSet style = colorStyles.get(color);
+        if (style == null) {
+            SimpleAttributeSet newStyle = new SimpleAttributeSet();
+            StyleConstants.setFontSize(newStyle, FONT_SIZE);
+            StyleConstants.setForeground(newStyle, color);
+            style = newStyle;
+            colorStyles.put(color, style);
+        }
+        return style;
+    }
+
+    private static void applyEdits(StyledDocument doc, List<Edit> edits) {
+        FlightEvents.Render event = new FlightEvents.Render();
+        event.begin();
+        try {
+            for (Edit edit : edits) {
+                if (edit.removed > 0) {
+                    doc.remove(edit.offset, edit.removed);
+                }
+                if (!edit.text.isEmpty()) {
+                    doc.insertString(edit.offset, edit.text, edit.style);
+                }
+            }
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+        commitRender(event, "apply edits", edits, 0);
+    }
+
+    /**
+     * Ends a render event and records it, if it is being recorded.
+     *
+     * @param event The event.
+     * @param step  Which step of drawing the window the event timed.
+     * @param edits The edits the step made or handed on.
+     * @param first The first of the edits that belongs to this step.
+     */
+    private static void commitRender(FlightEvents.Render event, String step, List<Edit> edits, int first) {
+        if (event.shouldCommit()) {
+            event.step = step;
+            event.edits = edits.size() - first;
+            for (int i = first; i < edits.size(); i++) {
+                event.characters += edits.get(i).text.length();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * An Edit replaces part of the document with a run of text in one style.
+     */
+    private static class Edit {
+        private final int offset;
+        private final int removed;
+        private String text;
+        private final AttributeSet style;
+
+        Edit(int offset, int removed, String text, AttributeSet style) {
+            this.offset = offset;
+            this.removed = removed;
+            this.text = text;
+            this.style = style;
+        }
+
+        /**
+         * Accessor method to get where the edit's text ends once it is in the document.
+         *
+         * @return The offset just past the text.
+         */
+        int end() {
+            return offset + text.length();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package treasurehunter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * The ParallelRange class runs work over a range of numbers, such as games, seeds or towns, on a fork-join pool.
+ * The range is split in half until each part is no longer than a grain, and each part is then worked through on one
+ * thread. Every parallel loop in the game goes through here, so the fork-join tasks are written only once.
+ */
+final class ParallelRange {
+    private ParallelRange() {
+    }
+
+    /**
+     * The work done for one part of a range.
+     */
+    interface Body {
+        /**
+         * @param from The first number of the part.
+         * @param to   The number after the last number of the part.
+         */
+        void run(long from, long to);
+    }
+
+    /**
+     * The work done for one part of a range that gives a result.
+     */
+    interface Leaf<R> {
+        /**
+         * @param from The first number of the part.
+         * @param to   The number after the last number of the part.
+         * @return The part's result.
+         */
+        R compute(long from, long to);
+    }
+
+    /**
+     * Runs the body over every part of a range and waits for all of them.
+     *
+     * @param pool  The pool the parts run on.
+     * @param from  The first number of the range.
+     * @param to    The number after the last number of the range.
+     * @param grain The longest part run on one thread.
+     * @param body  The work done for each part.
+     */
+    static void forEach(ForkJoinPool pool, long from, long to, long grain, Body body) {
+        pool.invoke(new ForEachTask(from, to, grain, body));
+    }
+
+    /**
+     * Computes a result for every part of a range and merges them, the left part's result first.
+     *
+     * @param pool  The pool the parts run on.
+     * @param from  The first number of the range.
+     * @param to    The number after the last number of the range.
+     * @param grain The longest part computed on one thread.
+     * @param leaf  The work done for each part.
+     * @param merge Merges the results of two neighbouring parts.
+     * @return The result of the whole range.
+     */
+    static <R> R reduce(ForkJoinPool pool, long from, long to, long grain, Leaf<R> leaf, BinaryOperator<R> merge) {
+        return pool.invoke(new ReduceTask<>(from, to, grain, leaf, merge));
+    }
+
+    // the tasks never leave the pool, so they are never serialized
+    @SuppressWarnings("serial")
+    private static class ForEachTask extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final long grain;
+        private final Body body;
+
+        ForEachTask(long from, long to, long grain, Body body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        protected void compute() {
+            if (to - from > grain) {
+                long middle = (from + to) >>> 1;
+                invokeAll(new ForEachTask(from, middle, grain, body), new ForEachTask(middle, to, grain, body));
+                return;
+            }
+            body.run(from, to);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class ReduceTask<R> extends RecursiveTask<R> {
+        private final long from;
+        private final long to;
+        private final long grain;
+        private final Leaf<R> leaf;
+        private final BinaryOperator<R> merge;
+
+        ReduceTask(long from, long to, long grain, Leaf<R> leaf, BinaryOperator<R> merge) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        protected R compute() {
+            if (to - from > grain) {
+                long middle = (from + to) >>> 1;
+                ReduceTask<R> left = new ReduceTask<>(from, middle, grain, leaf, merge);
+                left.fork();
+                R right = new ReduceTask<>(middle, to, grain, leaf, merge).compute();
+                return merge.apply(left.join(), right);
+            }
+            return leaf.compute(from, to);
+        }
+    }
+}
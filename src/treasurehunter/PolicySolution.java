@@ -0,0 +1,193 @@
+package treasurehunter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The PolicySolution holds what PolicySolver worked out for one difficulty: the chance of winning from every state
+ * when playing perfectly, and the move that gets it.
+ */
+public class PolicySolution {
+    private static final String[] MOVE_LETTERS = {"h", "d", "m"};
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final int goldCap;
+    private final double[][] values;
+    private final byte[][] moves;
+    private final int startingKit;
+    private final int startingGold;
+    private final int sweeps;
+
+    /**
+     * @param difficulty   The difficulty that was solved.
+     * @param goldCap      The most gold the solver told apart.
+     * @param values       The chance of winning from each state, by treasures found and then state index.
+     * @param moves        The best move in each state, laid out the same way.
+     * @param startingKit  The kit a game starts with.
+     * @param startingGold The gold a game has when it reaches the first town.
+     * @param sweeps       How many value iteration sweeps the solver made.
+     */
+    public PolicySolution(Difficulty difficulty, int goldCap, double[][] values, byte[][] moves,
+                          int startingKit, int startingGold, int sweeps) {
+        this.difficulty = difficulty;
+        this.goldCap = goldCap;
+        this.values = values;
+        this.moves = moves;
+        this.startingKit = startingKit;
+        this.startingGold = startingGold;
+        this.sweeps = sweeps;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getGoldCap() {
+        return goldCap;
+    }
+
+    public int getStartingKit() {
+        return startingKit;
+    }
+
+    public int getStartingGold() {
+        return startingGold;
+    }
+
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * Works out the chance of winning a new game with perfect play, before the first town is known.
+     *
+     * @return The chance, from 0 to 1.
+     */
+    public double getStartingWinChance() {
+        double toughness = difficulty.getToughness();
+        double chance = 0;
+        for (int terrain = 0; terrain < PolicySolver.TERRAINS; terrain++) {
+            chance += toughness * getWinChance(startingGold, startingKit, 0, terrain, true, false, false);
+            chance += (1 - toughness) * getWinChance(startingGold, startingKit, 0, terrain, false, false, false);
+        }
+        return chance / PolicySolver.TERRAINS;
+    }
+
+    /**
+     * Looks up the chance of winning from a state with perfect play.
+     *
+     * @param gold      The hunter's gold; more than the cap counts as the cap.
+     * @param kit       The hunter's kit bits.
+     * @param treasures The hunter's treasure bits.
+     * @param terrain   The current town's terrain type.
+     * @param toughTown Whether the current town is tough.
+     * @param dugOnce   Whether the hunter has dug for gold this game.
+     * @param hunted    Whether the hunter has hunted in the current town.
+     * @return The chance, from 0 to 1.
+     */
+    public double getWinChance(int gold, int kit, int treasures, int terrain, boolean toughTown, boolean dugOnce, boolean hunted) {
+        int found = Integer.bitCount(treasures & Treasure.ALL_COLLECTIBLE);
+        if (found == PolicySolver.TREASURES_TO_WIN) {
+            return 1;
+        }
+        if (gold < 0) {
+            return 0;
+        }
+        return values[found][PolicySolver.stateIndex(goldCap, kit, Math.min(gold, goldCap), terrain, toughTown, dugOnce, hunted)];
+    }
+
+    /**
+     * Looks up the best move in a state.
+     *
+     * @return The move, as used by PolicySolver.
+     */
+    int getMove(int gold, int kit, int treasures, int terrain, boolean toughTown, boolean dugOnce, boolean hunted) {
+        int found = Integer.bitCount(treasures & Treasure.ALL_COLLECTIBLE);
+        if (found == PolicySolver.TREASURES_TO_WIN || gold < 0) {
+            return PolicySolver.GIVE_UP;
+        }
+        return moves[found][PolicySolver.stateIndex(goldCap, kit, Math.min(gold, goldCap), terrain, toughTown, dugOnce, hunted)];
+    }
+
+    /**
+     * Turns a move into the letter a player would type at the menu.
+     *
+     * @param move The move.
+     * @return One of "b", "s", "m", "l", "d", "h" or "x".
+     */
+    static String menuChoice(int move) {
+        if (move < PolicySolver.BUY) {
+            return MOVE_LETTERS[move];
+        } else if (move < PolicySolver.LOOK) {
+            return "b";
+        } else if (move == PolicySolver.LOOK) {
+            return "l";
+        } else if (move < PolicySolver.GIVE_UP) {
+            return "s";
+        }
+        return "x";
+    }
+
+    /**
+     * Names the item a buy or sell move trades.
+     *
+     * @param move The move.
+     * @return The item's name, or null if the move is not a trade.
+     */
+    static String tradedItem(int move) {
+        if (move >= PolicySolver.BUY && move < PolicySolver.LOOK) {
+            return Item.VALUES[move - PolicySolver.BUY].getName();
+        } else if (move >= PolicySolver.SELL && move < PolicySolver.GIVE_UP) {
+            return Item.VALUES[move - PolicySolver.SELL].getName();
+        }
+        return null;
+    }
+
+    /**
+     * Describes a move in words, such as "buy rope".
+     *
+     * @param move The move.
+     * @return The description.
+     */
+    public static String describe(int move) {
+        switch (menuChoice(move)) {
+            case "h":
+                return "hunt";
+            case "d":
+                return "dig";
+            case "m":
+                return "move on";
+            case "b":
+                return "buy " + tradedItem(move);
+            case "s":
+                return "sell " + tradedItem(move);
+            case "l":
+                return "look for trouble";
+            default:
+                return "give up";
+        }
+    }
+
+    /**
+     * Writes the best move of every state to a file, one byte per state, from no treasures found up.
+     * The file starts with the difficulty's mode, the gold cap and the number of states for each number of treasures.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTo(Path file) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeUTF(difficulty.getMode());
+            out.writeInt(goldCap);
+            out.writeInt(moves[0].length);
+            for (byte[] movesForFound : moves) {
+                out.write(movesForFound);
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package treasurehunter;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The PolicySolver works out the best possible way to play Treasure Hunter at one difficulty, and the chance of winning
+ * with it, by treating the game as a Markov decision process and running value iteration over every state.<p>
+ * A state is the hunter's gold, kit and treasures, plus the current town's terrain and toughness, whether the hunter
+ * has dug for gold yet this game and whether the town has been hunted. The town's treasure stays hidden until it is
+ * hunted, so the solver plays with the same knowledge as a player. Gold above the cap counts as the cap.<p>
+ * Treasures are never lost, so the solver works one treasure count at a time, most treasures first, and each count
+ * only looks at counts that are already finished. The three treasures are equally likely to be found, so which ones
+ * a hunter holds does not matter, only how many. Within a count, each sweep is split by kit across a fork-join pool.
+ * Every task owns its kits and updates their states in place, richest first, so a run of won brawls or a dig feeds
+ * through in a single sweep; states of other kits are read as they were at the start of the sweep, which keeps the
+ * result the same however many threads there are. Sweeps stop once no value moves by more than EPSILON.
+ * Values, best moves and the expected value of arriving in a new town are all kept in flat primitive arrays.<p>
+ * Every turn is discounted by TURN_DISCOUNT. Without it, moves that waste a turn, such as selling an item and buying it
+ * straight back, would be worth exactly as much as moves that make progress, and the policy could loop forever.
+ * It makes the chances reported a few millionths lower than the true ones.
+ */
+public class PolicySolver {
+    public static final int DEFAULT_GOLD_CAP = 50;
+    private static final double EPSILON = 1e-10;
+    private static final double TURN_DISCOUNT = 1 - 1e-7;
+    private static final int MAX_SWEEPS = 1_000_000;
+    private static final int KITS_PER_TASK = 4;
+
+    // the odds of TownOdds.STANDARD, and the item break chance of Town.checkItemBreak
+    private static final double TOUGH_TOWN_TROUBLE = 0.66;
+    private static final double QUIET_TOWN_TROUBLE = 0.33;
+    private static final int MAX_BRAWL_GOLD = 10;
+    private static final int MAX_DUG_GOLD = 20;
+    private static final double DIG_SUCCESS = 0.5;
+    private static final double ITEM_BREAK = 0.5;
+    private static final double TREASURE_CHANCE = 0.33;
+    static final int TERRAINS = TownOdds.TERRAINS;
+    private static final Item[] TERRAIN_ITEMS = {Item.ROPE, Item.BOAT, Item.HORSE, Item.WATER, Item.MACHETE, Item.BOOTS};
+
+    // moves, in the order ties are broken; BUY and SELL are followed by the item's ordinal
+    static final int HUNT = 0;
+    static final int DIG = 1;
+    static final int MOVE = 2;
+    static final int BUY = 3;
+    static final int LOOK = BUY + Item.VALUES.length;
+    static final int SELL = LOOK + 1;
+    static final int GIVE_UP = SELL + Item.VALUES.length;
+
+    static final int TREASURES_TO_WIN = Integer.bitCount(Treasure.ALL_COLLECTIBLE);
+
+    // each (kit, gold) block holds terrain, toughness, dug once and hunted, with hunted in the lowest bit
+    static final int TOWN_STATES = TERRAINS * 2 * 2 * 2;
+    private static final int HUNTED = 1;
+    private static final int DUG_ONCE = 2;
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final int goldCap;
+    private final int kits;
+    private final int[] buyPrices;
+    private final int[] sellPrices;
+    private final boolean[] forSale;
+    private final ForkJoinPool pool;
+    private int sweeps;
+
+    /**
+     * Sets up a solver that runs on the common fork-join pool.
+     *
+     * @param difficulty The difficulty to solve.
+     * @param goldCap    The most gold the solver tells apart; more gold than this counts as this much.
+     */
+    public PolicySolver(Difficulty difficulty, int goldCap) {
+        this(difficulty, goldCap, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sets up a solver that runs on the given pool.
+     *
+     * @param difficulty The difficulty to solve.
+     * @param goldCap    The most gold the solver tells apart; more gold than this counts as this much.
+     * @param pool       The pool the sweeps run on.
+     */
+    public PolicySolver(Difficulty difficulty, int goldCap, ForkJoinPool pool) {
+        if (difficulty.getTownOdds() != TownOdds.STANDARD) {
+            throw new IllegalArgumentException("The solver only knows the standard town odds, not those of " + difficulty);
+        }
+        this.difficulty = difficulty;
+        this.goldCap = goldCap;
+        this.pool = pool;
+        // only a samurai can ever carry the sword
+        kits = difficulty.isSamurai() ? 1 << Item.VALUES.length : 1 << Item.SWORD.ordinal();
+
+        Shop shop = new Shop(difficulty.getMarkdown(), difficulty.isSamurai(), NullOutput.INSTANCE);
+        buyPrices = new int[Item.VALUES.length];
+        sellPrices = new int[Item.VALUES.length];
+        forSale = new boolean[Item.VALUES.length];
+        for (Item item : Item.VALUES) {
+            buyPrices[item.ordinal()] = shop.checkMarketPrice(item.getName(), true);
+            sellPrices[item.ordinal()] = shop.checkMarketPrice(item.getName(), false);
+            forSale[item.ordinal()] = (item.getBit() & (kits - 1)) != 0 && (buyPrices[item.ordinal()] > 0 || difficulty.isSamurai());
+        }
+    }
+
+    /**
+     * Runs value iteration for every number of treasures found.
+     *
+     * @return The chance of winning and the best move for every state.
+     */
+    public PolicySolution solve() {
+        double[][] values = new double[TREASURES_TO_WIN][];
+        byte[][] moves = new byte[TREASURES_TO_WIN][];
+        sweeps = 0;
+        for (int found = TREASURES_TO_WIN - 1; found >= 0; found--) {
+            solveTreasureCount(found, values, moves);
+        }
+        int startingKit = 0;
+        int startingGold = difficulty.getStartingGold();
+        if (difficulty == Difficulty.TEST) {
+            // SimulatedGame buys the whole test inventory before the first town
+            for (int i = 0; i < Item.SWORD.ordinal(); i++) {
+                startingKit |= Item.VALUES[i].getBit();
+                startingGold -= buyPrices[i];
+            }
+        }
+        return new PolicySolution(difficulty, goldCap, values, moves, startingKit, startingGold, sweeps);
+    }
+
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    private void solveTreasureCount(int found, double[][] values, byte[][] moves) {
+        int golds = goldCap + 1;
+        double[] current = new double[kits * golds * TOWN_STATES];
+        double[] next = new double[current.length];
+        double[] arrival = new double[kits * golds * 2];
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            sweeps++;
+            computeArrivals(current, arrival);
+            double change = sweep(found, values, current, next, arrival, null);
+            double[] swap = current;
+            current = next;
+            next = swap;
+            if (change < EPSILON) {
+                break;
+            }
+        }
+        byte[] best = new byte[current.length];
+        computeArrivals(current, arrival);
+        sweep(found, values, current, next, arrival, best);
+        values[found] = current;
+        moves[found] = best;
+    }
+
+    /**
+     * Finds the index of a state among the states with the same number of treasures.
+     *
+     * @return The index into the value and move arrays.
+     */
+    static int stateIndex(int goldCap, int kit, int gold, int terrain, boolean toughTown, boolean dugOnce, boolean hunted) {
+        return (kit * (goldCap + 1) + gold) * TOWN_STATES + terrain * 8 + (toughTown ? 4 : 0) + (dugOnce ? DUG_ONCE : 0) + (hunted ? HUNTED : 0);
+    }
+
+    /**
+     * Works out the best move in one state.
+     *
+     * @param found   How many treasures the hunter has.
+     * @param own     The values of states with the same kit, some of them already updated this sweep.
+     * @param current The values of every state at the start of the sweep.
+     * @param best    Where the move is stored, or null if only the value is wanted.
+     * @return The chance of winning after the best move.
+     */
+    private double evaluate(int found, double[][] values, double[] own, double[] current, double[] arrival, byte[] best,
+                            int kit, int gold, int townState) {
+        int golds = goldCap + 1;
+        int block = (kit * golds + gold) * TOWN_STATES;
+        int index = block + townState;
+        int terrain = townState >> 3;
+        boolean toughTown = (townState & 4) != 0;
+        boolean dugOnce = (townState & DUG_ONCE) != 0;
+        boolean hunted = (townState & HUNTED) != 0;
+        boolean sword = (kit & Item.SWORD.getBit()) != 0;
+
+        double bestValue = 0;
+        int bestMove = GIVE_UP;
+
+        if (!hunted) {
+            // a treasure the hunter already has is as good as dust
+            double newTreasure = TREASURE_CHANCE * (TREASURES_TO_WIN - found);
+            double afterNewTreasure = found + 1 == TREASURES_TO_WIN ? 1 : values[found + 1][index + HUNTED];
+            double value = TURN_DISCOUNT * ((1 - newTreasure) * own[index + HUNTED] + newTreasure * afterNewTreasure);
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = HUNT;
+            }
+        }
+
+        if (!dugOnce && (kit & Item.SHOVEL.getBit()) != 0) {
+            int dug = index + DUG_ONCE;
+            double struck = 0;
+            for (int amount = 1; amount <= MAX_DUG_GOLD; amount++) {
+                struck += own[dug + (Math.min(gold + amount, goldCap) - gold) * TOWN_STATES];
+            }
+            double value = TURN_DISCOUNT * ((1 - DIG_SUCCESS) * own[dug] + DIG_SUCCESS * struck / MAX_DUG_GOLD);
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = DIG;
+            }
+        }
+
+        int neededBit = TERRAIN_ITEMS[terrain].getBit();
+        if ((kit & neededBit) != 0) {
+            int kept = (kit * golds + gold) * 2 + (dugOnce ? 1 : 0);
+            int broken = ((kit & ~neededBit) * golds + gold) * 2 + (dugOnce ? 1 : 0);
+            double breakChance = difficulty.isEasyMode() ? 0 : ITEM_BREAK;
+            double value = TURN_DISCOUNT * ((1 - breakChance) * arrival[kept] + breakChance * arrival[broken]);
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = MOVE;
+            }
+        }
+
+        for (int item = 0; item < Item.VALUES.length; item++) {
+            int bit = 1 << item;
+            if (!forSale[item] || (kit & bit) != 0) {
+                continue;
+            }
+            // a customer with a sword gets everything for free
+            int price = sword ? 0 : buyPrices[item];
+            if (gold < price) {
+                continue;
+            }
+            double value = TURN_DISCOUNT * current[((kit | bit) * golds + gold - price) * TOWN_STATES + townState];
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = BUY + item;
+            }
+        }
+
+        // finding no trouble lands in the same state, so a hunter who looks keeps looking until a brawl starts
+        double trouble = toughTown ? TOUGH_TOWN_TROUBLE : QUIET_TOWN_TROUBLE;
+        double won = 0;
+        double lost = 0;
+        for (int amount = 1; amount <= MAX_BRAWL_GOLD; amount++) {
+            won += own[index + (Math.min(gold + amount, goldCap) - gold) * TOWN_STATES];
+            if (gold - amount >= 0) {
+                lost += own[index - amount * TOWN_STATES];
+            }
+        }
+        double winChance = sword ? 1 : 1 - trouble;
+        double brawl = (winChance * won + (1 - winChance) * lost) / MAX_BRAWL_GOLD;
+        double look = TURN_DISCOUNT * trouble * brawl / (1 - TURN_DISCOUNT * (1 - trouble));
+        if (look > bestValue) {
+            bestValue = look;
+            bestMove = LOOK;
+        }
+
+        for (int item = 0; item < Item.VALUES.length; item++) {
+            int bit = 1 << item;
+            if ((kit & bit) == 0 || sellPrices[item] <= 0) {
+                continue;
+            }
+            double value = TURN_DISCOUNT * current[((kit & ~bit) * golds + Math.min(gold + sellPrices[item], goldCap)) * TOWN_STATES + townState];
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = SELL + item;
+            }
+        }
+
+        if (best != null) {
+            best[index] = (byte) bestMove;
+        }
+        return bestValue;
+    }
+
+    /**
+     * Works out the chance of winning on arriving in a new town, before its terrain and toughness are known,
+     * for every kit, gold and dug once flag.
+     */
+    private void computeArrivals(double[] current, double[] arrival) {
+        double toughness = difficulty.getToughness();
+        ParallelRange.forEach(pool, 0, kits, KITS_PER_TASK, (firstKit, endKit) -> {
+            for (int kit = (int) firstKit; kit < endKit; kit++) {
+                for (int gold = 0; gold <= goldCap; gold++) {
+                    int block = (kit * (goldCap + 1) + gold) * TOWN_STATES;
+                    for (int dug = 0; dug < 2; dug++) {
+                        double value = 0;
+                        for (int terrain = 0; terrain < TERRAINS; terrain++) {
+                            int town = block + terrain * 8 + dug * DUG_ONCE;
+                            value += toughness * current[town + 4] + (1 - toughness) * current[town];
+                        }
+                        arrival[(kit * (goldCap + 1) + gold) * 2 + dug] = value / TERRAINS;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Updates every state once, each range of kits in place.
+     *
+     * @return The largest change made to any state.
+     */
+    private double sweep(int found, double[][] values, double[] current, double[] next, double[] arrival, byte[] best) {
+        return ParallelRange.reduce(pool, 0, kits, KITS_PER_TASK, (firstKit, endKit) -> {
+            int first = (int) firstKit * (goldCap + 1) * TOWN_STATES;
+            System.arraycopy(current, first, next, first, (int) (endKit - firstKit) * (goldCap + 1) * TOWN_STATES);
+            double change = 0;
+            for (int kit = (int) firstKit; kit < endKit; kit++) {
+                // richest first, and hunted and dug states before the states that lead to them
+                for (int gold = goldCap; gold >= 0; gold--) {
+                    int block = (kit * (goldCap + 1) + gold) * TOWN_STATES;
+                    for (int townState = TOWN_STATES - 1; townState >= 0; townState--) {
+                        double value = evaluate(found, values, next, current, arrival, best, kit, gold, townState);
+                        change = Math.max(change, Math.abs(value - current[block + townState]));
+                        next[block + townState] = value;
+                    }
+                }
+            }
+            return change;
+        }, Math::max);
+    }
+}
@@ -0,0 +1,54 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Solves every difficulty, prints the chance of winning with perfect play and the opening moves,
+ * and checks the chance by simulating games with the solved policy.
+ * Usage: java PolicySolverRunner [gold cap] [games to simulate per difficulty] [seed] [directory to write policies to]
+ */
+public class PolicySolverRunner {
+    private static final String[] TERRAIN_NAMES = {"Mountains", "Ocean", "Plains", "Desert", "Jungle", "Marsh"};
+
+    public static void main(String[] args) throws IOException {
+        RunnerArgs arguments = new RunnerArgs(args);
+        int goldCap = arguments.getInt(0, PolicySolver.DEFAULT_GOLD_CAP);
+        long games = arguments.getLong(1, 100000);
+        long seed = arguments.getLong(2, System.nanoTime());
+        Path policyDirectory = arguments.getPath(3, null);
+
+        System.out.println("Gold cap: " + goldCap + ", seed: " + seed);
+        for (Difficulty difficulty : Difficulty.values()) {
+            long start = System.nanoTime();
+            PolicySolution solution = new PolicySolver(difficulty, goldCap).solve();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: perfect play wins %.2f%% (%d sweeps in %.2f seconds)%n",
+                    difficulty, solution.getStartingWinChance() * 100, solution.getSweeps(), seconds);
+
+            SimulationResult result = new Simulation(new OptimalPolicy(solution), 500, seed).run(difficulty, games);
+            System.out.println("  simulated: " + result);
+            printOpeningMoves(solution);
+
+            if (policyDirectory != null) {
+                solution.writeTo(policyDirectory.resolve("policy-" + difficulty.getMode() + ".bin"));
+            }
+        }
+    }
+
+    /**
+     * Prints the best move after hunting the first town, for every kind of first town.
+     */
+    private static void printOpeningMoves(PolicySolution solution) {
+        int kit = solution.getStartingKit();
+        int gold = solution.getStartingGold();
+        for (int terrain = 0; terrain < PolicySolver.TERRAINS; terrain++) {
+            StringBuilder line = new StringBuilder("  ").append(TERRAIN_NAMES[terrain]).append(':');
+            for (int tough = 0; tough < 2; tough++) {
+                int move = solution.getMove(gold, kit, 0, terrain, tough == 1, false, true);
+                line.append(tough == 1 ? ", tough town: " : " quiet town: ").append(PolicySolution.describe(move));
+            }
+            System.out.println(line);
+        }
+    }
+}
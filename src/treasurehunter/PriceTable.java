@@ -0,0 +1,64 @@
+package treasurehunter;
+
+/**
+ * The PriceTable holds the buy and sell price of every item for one markdown level, worked out once when it is made.
+ * It also keeps the shop's price list ready to print, both with and without the samurai's sword.
+ */
+public class PriceTable {
+    // Instance variables
+    private final int[] buyPrices;
+    private final int[] sellPrices;
+    private final String catalogue;
+    private final String samuraiCatalogue;
+
+    /**
+     * Works out every price for a markdown level.
+     *
+     * @param basePrices The buy price of each item, indexed by the item's ordinal.
+     * @param markdown   Percentage of markdown for selling items in decimal format.
+     */
+    public PriceTable(int[] basePrices, double markdown) {
+        buyPrices = basePrices.clone();
+        sellPrices = new int[buyPrices.length];
+        for (int i = 0; i < buyPrices.length; i++) {
+            sellPrices[i] = (int) (buyPrices[i] * markdown);
+        }
+
+        StringBuilder list = new StringBuilder();
+        for (Item item : Item.VALUES) {
+            if (item != Item.SWORD) {
+                appendPrice(list, item, buyPrices[item.ordinal()]);
+            }
+        }
+        catalogue = list.toString();
+        appendPrice(list, Item.SWORD, buyPrices[Item.SWORD.ordinal()]);
+        samuraiCatalogue = list.toString();
+    }
+
+    public int getBuyPrice(Item item) {
+        return buyPrices[item.ordinal()];
+    }
+
+    public int getSellPrice(Item item) {
+        return sellPrices[item.ordinal()];
+    }
+
+    /**
+     * Accessor method to get the printable price list.
+     *
+     * @param samurai Whether the customer is a samurai, who can also buy a sword.
+     * @return One line per item with its buy price.
+     */
+    public String getCatalogue(boolean samurai) {
+        if (samurai) {
+            return samuraiCatalogue;
+        }
+        return catalogue;
+    }
+
+    private static void appendPrice(StringBuilder list, Item item, int price) {
+        String name = item.getName();
+        list.append(Character.toUpperCase(name.charAt(0))).append(name, 1, name.length())
+                .append(": ").append(price).append(" gold\n");
+    }
+}
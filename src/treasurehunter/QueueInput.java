@@ -0,0 +1,52 @@
+package treasurehunter;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The QueueInput hands the game lines that were queued up in memory, such as moves from an automated player.
+ * Lines can be queued before the game starts or from another thread while it is running.
+ * The game waits for more lines until close is called, after which it sees the player as gone once the queue is empty.
+ */
+public class QueueInput implements InputSource {
+    // queued after the last line, so a waiting game wakes up and sees the end
+    private static final String END = new String("end of input");
+
+    private final BlockingQueue<String> lines;
+
+    public QueueInput() {
+        lines = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Queues a line for the game to read.
+     *
+     * @param line The line, which may hold several commands separated by semicolons.
+     */
+    public void add(String line) {
+        lines.add(line);
+    }
+
+    /**
+     * Marks the end of the input. Lines already queued are still read.
+     */
+    public void close() {
+        lines.add(END);
+    }
+
+    public String readLine() {
+        String line;
+        try {
+            line = lines.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (line == END) {
+            // leave the marker for any later reads
+            lines.add(END);
+            return null;
+        }
+        return line;
+    }
+}
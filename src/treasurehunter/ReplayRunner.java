@@ -0,0 +1,33 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Replays an event log and prints how many games were won at each difficulty, as rebuilt from the events alone.
+ * Usage: java ReplayRunner [event log file]
+ */
+public class ReplayRunner {
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(new RunnerArgs(args).require(0, "event log file"));
+        Map<Difficulty, SimulationResult> results = new EnumMap<>(Difficulty.class);
+        long start = System.nanoTime();
+        long events = GameReplayer.replay(file, replayer -> {
+            SimulatedGame.Outcome outcome = SimulatedGame.Outcome.GAVE_UP;
+            if (replayer.getHunter().hasAllTreasures()) {
+                outcome = SimulatedGame.Outcome.WON;
+            } else if (replayer.getHunter().isBankrupt()) {
+                outcome = SimulatedGame.Outcome.BANKRUPT;
+            }
+            results.computeIfAbsent(replayer.getDifficulty(), d -> new SimulationResult()).record(outcome, replayer.getTurns());
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (Map.Entry<Difficulty, SimulationResult> entry : results.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.printf("Replayed %d events in %.2f seconds%n", events, seconds);
+    }
+}
@@ -0,0 +1,41 @@
+package treasurehunter;
+
+/**
+ * The ResultColumn enum lists the columns of a ResultLog, one number per simulated game in each.
+ * Every column has a fixed width, described next to each constant, and is stored little-endian.
+ */
+public enum ResultColumn {
+    /** The game's seed, as a long. */
+    SEED(Long.BYTES),
+    /** The Difficulty ordinal, as a byte. */
+    DIFFICULTY(Byte.BYTES),
+    /** 1 if the hunter was a samurai, as a byte. */
+    SAMURAI(Byte.BYTES),
+    /** The number of turns played, as an int. */
+    TURNS(Integer.BYTES),
+    /** The number of towns visited, as an int. */
+    TOWNS_VISITED(Integer.BYTES),
+    /** The hunter's gold at the end of the game, as an int. */
+    GOLD(Integer.BYTES),
+    /** The treasures found, as a byte of Treasure bits. */
+    TREASURES(Byte.BYTES),
+    /** The SimulatedGame.Outcome ordinal, as a byte. */
+    OUTCOME(Byte.BYTES);
+
+    static final ResultColumn[] VALUES = values();
+
+    private final int width;
+
+    ResultColumn(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Accessor method to get how many bytes one game takes in this column.
+     *
+     * @return The width in bytes.
+     */
+    public int getWidth() {
+        return width;
+    }
+}
@@ -0,0 +1,136 @@
+package treasurehunter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The ResultLog is an append-only binary file with one record per simulated game, stored by column.<p>
+ * Records are collected by ResultLogWriters, which each fill a chunk of up to CHUNK_ROWS games for one thread, one
+ * fixed-width buffer per ResultColumn, and append the whole chunk to the file once it is full. Memory stays the same
+ * however many games are written. A chunk starts with its number of rows, whether its columns are compressed, and
+ * the stored length of every column, so a ResultLogReader can skip straight to the columns it needs.<p>
+ * Columns can be compressed with Deflater; each column of a chunk is compressed on its own.
+ */
+public class ResultLog implements Closeable {
+    /** The most games in one chunk. */
+    public static final int CHUNK_ROWS = 64 * 1024;
+    static final int MAGIC = 0x54485231; // "THR1"
+    static final int FILE_HEADER_SIZE = Integer.BYTES;
+    // rows, the compressed flag, then the stored length of each column
+    static final int CHUNK_HEADER_SIZE = Integer.BYTES + 1 + ResultColumn.VALUES.length * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final boolean compressed;
+    private final Queue<ResultLogWriter> writers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ResultLogWriter> threadWriters = new ThreadLocal<>();
+
+    /**
+     * Opens a log, adding to the end of it if it already exists.
+     * Half a chunk left at the end of an existing log is cut off first.
+     *
+     * @param path       The log file.
+     * @param compressed Whether the chunks written from now on are compressed.
+     * @throws IOException If the file cannot be opened, or is not a result log.
+     */
+    public ResultLog(Path path, boolean compressed) throws IOException {
+        this.compressed = compressed;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            return;
+        }
+        header.limit(FILE_HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a result log");
+        }
+        // a crash can leave half a chunk at the end, which would hide every chunk written after it
+        long end = FILE_HEADER_SIZE;
+        while (end + CHUNK_HEADER_SIZE <= channel.size()) {
+            header.clear();
+            while (header.hasRemaining() && channel.read(header, end + header.position()) > 0) {
+                // keep reading until the header is whole
+            }
+            long chunkEnd = end + CHUNK_HEADER_SIZE;
+            for (int i = 0; i < ResultColumn.VALUES.length; i++) {
+                chunkEnd += header.getInt(Integer.BYTES + 1 + i * Integer.BYTES);
+            }
+            if (chunkEnd > channel.size()) {
+                break;
+            }
+            end = chunkEnd;
+        }
+        channel.truncate(end);
+        channel.position(end);
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Creates a new writer for this log. A writer must only be used by one thread at a time.
+     *
+     * @return The writer.
+     */
+    public ResultLogWriter newWriter() {
+        ResultLogWriter writer = new ResultLogWriter(this, compressed);
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * Accessor method to get the calling thread's own writer, creating it the first time.
+     *
+     * @return The writer for the current thread.
+     */
+    public ResultLogWriter writerForThisThread() {
+        ResultLogWriter writer = threadWriters.get();
+        if (writer == null) {
+            writer = newWriter();
+            threadWriters.set(writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Appends one encoded chunk to the file in a single gathering write.
+     *
+     * @param chunk The chunk header followed by its columns, ready to be read.
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void append(ByteBuffer... chunk) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : chunk) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(chunk);
+        }
+    }
+
+    /**
+     * Writes out every writer's unfinished chunk and closes the file.
+     * The writers must no longer be in use.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void close() throws IOException {
+        for (ResultLogWriter writer : writers) {
+            writer.close();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,145 @@
+package treasurehunter;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The ResultLogReader scans a ResultLog chunk by chunk, reading only the columns asked for.
+ * The other columns of each chunk are skipped over without being read or decompressed, so a scan of one byte-wide
+ * column reads a small part of the file. A chunk cut short at the end of the file, such as after a crash, is ignored.
+ */
+public class ResultLogReader implements Closeable {
+    /**
+     * A ChunkVisitor is handed the columns of one chunk at a time.
+     */
+    public interface ChunkVisitor {
+        /**
+         * Reads the columns of one chunk. The buffers are reused for the next chunk, so they must not be kept.
+         *
+         * @param rows    The number of games in the chunk.
+         * @param columns One little-endian buffer per column asked for, in the same order, each holding rows values
+         *                from index 0; read them with the absolute get methods.
+         */
+        void visit(int rows, ByteBuffer[] columns);
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(ResultLog.CHUNK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final Inflater inflater = new Inflater();
+    private ByteBuffer packed = ByteBuffer.allocateDirect(ResultLog.CHUNK_ROWS);
+
+    /**
+     * Opens a log for reading.
+     *
+     * @param path The log file.
+     * @throws IOException If the file cannot be opened, or is not a result log.
+     */
+    public ResultLogReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer magic = ByteBuffer.allocate(ResultLog.FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.read(magic, 0) < ResultLog.FILE_HEADER_SIZE || magic.getInt(0) != ResultLog.MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a result log");
+        }
+    }
+
+    /**
+     * Reads some columns of every game in the log.
+     *
+     * @param visitor Who is handed the columns of each chunk.
+     * @param wanted  The columns to read.
+     * @return The number of games read.
+     * @throws IOException If the file cannot be read or a column cannot be decompressed.
+     */
+    public long scan(ChunkVisitor visitor, ResultColumn... wanted) throws IOException {
+        ByteBuffer[] columns = new ByteBuffer[wanted.length];
+        for (int i = 0; i < wanted.length; i++) {
+            columns[i] = ByteBuffer.allocateDirect(ResultLog.CHUNK_ROWS * wanted[i].getWidth())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        int[] storedLengths = new int[ResultColumn.VALUES.length];
+        long games = 0;
+        long position = ResultLog.FILE_HEADER_SIZE;
+        long size = channel.size();
+        while (position + ResultLog.CHUNK_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            int rows = header.getInt(0);
+            boolean compressed = header.get(Integer.BYTES) != 0;
+            long columnStart = position + ResultLog.CHUNK_HEADER_SIZE;
+            long chunkEnd = columnStart;
+            for (int i = 0; i < storedLengths.length; i++) {
+                storedLengths[i] = header.getInt(Integer.BYTES + 1 + i * Integer.BYTES);
+                chunkEnd += storedLengths[i];
+            }
+            if (chunkEnd > size) {
+                break;
+            }
+
+            for (int i = 0; i < wanted.length; i++) {
+                long offset = columnStart;
+                for (int before = 0; before < wanted[i].ordinal(); before++) {
+                    offset += storedLengths[before];
+                }
+                int stored = storedLengths[wanted[i].ordinal()];
+                columns[i].clear().limit(rows * wanted[i].getWidth());
+                if (compressed) {
+                    inflate(offset, stored, columns[i]);
+                } else {
+                    readFully(columns[i].limit(stored), offset);
+                }
+                columns[i].flip();
+            }
+            visitor.visit(rows, columns);
+            games += rows;
+            position = chunkEnd;
+        }
+        return games;
+    }
+
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private void inflate(long offset, int stored, ByteBuffer column) throws IOException {
+        if (packed.capacity() < stored) {
+            packed = ByteBuffer.allocateDirect(stored);
+        }
+        packed.clear().limit(stored);
+        readFully(packed, offset);
+        packed.flip();
+        inflater.reset();
+        inflater.setInput(packed);
+        try {
+            while (column.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(column) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("A column of the result log is corrupt", e);
+        }
+        if (column.hasRemaining()) {
+            throw new IOException("A column of the result log is shorter than its chunk");
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("The result log ends in the middle of a chunk");
+            }
+            offset += read;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Scans a result log and prints the win rate at each difficulty, reading only the difficulty and outcome columns.
+ * Usage: java ResultLogRunner [result file]
+ */
+public class ResultLogRunner {
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(new RunnerArgs(args).require(0, "result file"));
+        long[] games = new long[Difficulty.values().length];
+        long[] wins = new long[Difficulty.values().length];
+        int won = SimulatedGame.Outcome.WON.ordinal();
+        long start = System.nanoTime();
+        long total;
+        try (ResultLogReader reader = new ResultLogReader(file)) {
+            total = reader.scan((rows, columns) -> {
+                ByteBuffer difficulties = columns[0];
+                ByteBuffer outcomes = columns[1];
+                for (int i = 0; i < rows; i++) {
+                    int difficulty = difficulties.get(i);
+                    games[difficulty]++;
+                    if (outcomes.get(i) == won) {
+                        wins[difficulty]++;
+                    }
+                }
+            }, ResultColumn.DIFFICULTY, ResultColumn.OUTCOME);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            long played = games[difficulty.ordinal()];
+            if (played > 0) {
+                System.out.printf("%s: %d games, win rate %.2f%%%n", difficulty, played,
+                        100.0 * wins[difficulty.ordinal()] / played);
+            }
+        }
+        System.out.printf("Scanned %d games in %.2f seconds%n", total, seconds);
+    }
+}
@@ -0,0 +1,137 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Deflater;
+
+/**
+ * The ResultLogWriter fills one chunk of a ResultLog at a time, with a fixed-width buffer for each column.
+ * Recording a game is one put per column, with no objects made. The chunk is written out once it holds
+ * ResultLog.CHUNK_ROWS games, after its columns are compressed on the writer's own thread if the log asks for it.
+ */
+public class ResultLogWriter {
+    private final ResultLog log;
+    private final ByteBuffer[] columns = new ByteBuffer[ResultColumn.VALUES.length];
+    private final ByteBuffer header = ByteBuffer.allocate(ResultLog.CHUNK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final Deflater deflater;
+    private final ByteBuffer[] packed;
+    private int rows;
+
+    ResultLogWriter(ResultLog log, boolean compressed) {
+        this.log = log;
+        for (ResultColumn column : ResultColumn.VALUES) {
+            columns[column.ordinal()] = ByteBuffer.allocate(ResultLog.CHUNK_ROWS * column.getWidth())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (compressed) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            packed = new ByteBuffer[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                // random data can come out a little bigger than it went in
+                packed[i] = ByteBuffer.allocate(columns[i].capacity() + columns[i].capacity() / 16 + 64);
+            }
+        } else {
+            deflater = null;
+            packed = null;
+        }
+    }
+
+    /**
+     * Records a game that has been played to the end.
+     *
+     * @param game    The game.
+     * @param outcome How the game ended.
+     */
+    public void record(SimulatedGame game, SimulatedGame.Outcome outcome) {
+        Hunter hunter = game.getHunter();
+        record(game.getSeed(), game.getDifficulty(), hunter.getSamurai(), game.getTurns(), game.getTownsVisited(),
+                hunter.getGold(), hunter.getTreasureBits(), outcome);
+    }
+
+    /**
+     * Records one game.
+     *
+     * @param seed         The game's seed.
+     * @param difficulty   The difficulty it was played at.
+     * @param samurai      Whether the hunter was a samurai.
+     * @param turns        The number of turns played.
+     * @param townsVisited The number of towns visited.
+     * @param gold         The hunter's gold at the end.
+     * @param treasureBits The treasures found, as Treasure bits.
+     * @param outcome      How the game ended.
+     */
+    public void record(long seed, Difficulty difficulty, boolean samurai, int turns, int townsVisited, int gold,
+                       int treasureBits, SimulatedGame.Outcome outcome) {
+        columns[ResultColumn.SEED.ordinal()].putLong(seed);
+        columns[ResultColumn.DIFFICULTY.ordinal()].put((byte) difficulty.ordinal());
+        columns[ResultColumn.SAMURAI.ordinal()].put((byte) (samurai ? 1 : 0));
+        columns[ResultColumn.TURNS.ordinal()].putInt(turns);
+        columns[ResultColumn.TOWNS_VISITED.ordinal()].putInt(townsVisited);
+        columns[ResultColumn.GOLD.ordinal()].putInt(gold);
+        columns[ResultColumn.TREASURES.ordinal()].put((byte) treasureBits);
+        columns[ResultColumn.OUTCOME.ordinal()].put((byte) outcome.ordinal());
+        rows++;
+        if (rows == ResultLog.CHUNK_ROWS) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the games recorded so far to the log as one chunk.
+     */
+    public void flush() {
+        if (rows == 0) {
+            return;
+        }
+        ByteBuffer[] chunk = new ByteBuffer[1 + columns.length];
+        header.clear();
+        header.putInt(rows);
+        header.put((byte) (deflater != null ? 1 : 0));
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].flip();
+            chunk[i + 1] = deflater != null ? compress(i) : columns[i];
+            header.putInt(chunk[i + 1].remaining());
+        }
+        chunk[0] = header.flip();
+        try {
+            log.append(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (ByteBuffer column : columns) {
+            column.clear();
+        }
+        rows = 0;
+    }
+
+    /**
+     * Writes out the last chunk and frees the compressor. The writer cannot be used after this.
+     */
+    void close() {
+        flush();
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private ByteBuffer compress(int column) {
+        ByteBuffer out = packed[column];
+        out.clear();
+        deflater.reset();
+        deflater.setInput(columns[column]);
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (!out.hasRemaining()) {
+                ByteBuffer bigger = ByteBuffer.allocate(out.capacity() * 2);
+                out.flip();
+                bigger.put(out);
+                out = bigger;
+                packed[column] = bigger;
+            }
+            deflater.deflate(out);
+        }
+        return out.flip();
+    }
+}
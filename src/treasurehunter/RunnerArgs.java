@@ -0,0 +1,63 @@
+package treasurehunter;
+
+import java.nio.file.Path;
+
+/**
+ * The RunnerArgs class reads the positional arguments of a runner's main method.
+ * Every argument is optional unless it is required, and an argument that is left out takes the default given.
+ */
+final class RunnerArgs {
+    // Instance variables
+    private final String[] args;
+
+    /**
+     * @param args The arguments main was given.
+     */
+    RunnerArgs(String[] args) {
+        this.args = args;
+    }
+
+    /**
+     * Checks if an argument was given.
+     *
+     * @param index The argument's position, from 0.
+     * @return True if there are more than index arguments.
+     */
+    boolean has(int index) {
+        return index < args.length;
+    }
+
+    String get(int index, String otherwise) {
+        return has(index) ? args[index] : otherwise;
+    }
+
+    int getInt(int index, int otherwise) {
+        return has(index) ? Integer.parseInt(args[index]) : otherwise;
+    }
+
+    long getLong(int index, long otherwise) {
+        return has(index) ? Long.parseLong(args[index]) : otherwise;
+    }
+
+    Path getPath(int index, Path otherwise) {
+        return has(index) ? Path.of(args[index]) : otherwise;
+    }
+
+    Difficulty getDifficulty(int index, Difficulty otherwise) {
+        return has(index) ? Difficulty.fromMode(args[index]) : otherwise;
+    }
+
+    /**
+     * Reads an argument the runner cannot do without.
+     *
+     * @param index The argument's position, from 0.
+     * @param name  What the argument is, for the message if it is missing.
+     * @return The argument.
+     */
+    String require(int index, String name) {
+        if (!has(index)) {
+            throw new IllegalArgumentException("Missing argument " + (index + 1) + ": " + name);
+        }
+        return args[index];
+    }
+}
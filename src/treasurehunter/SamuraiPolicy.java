@@ -0,0 +1,43 @@
+package treasurehunter;
+
+/**
+ * The SamuraiPolicy is a bot that gets the sword first when it is offered one. Shopkeepers hand a hunter with a sword
+ * anything for free, so it then takes every item the terrains call for before setting off, and never has to brawl
+ * for the gold to replace a lost one. Without a sword on offer it plays like the GreedyPolicy.
+ */
+public class SamuraiPolicy implements DecisionPolicy {
+    private static final Item[] TERRAIN_ITEMS = {Item.ROPE, Item.BOAT, Item.HORSE, Item.WATER, Item.MACHETE, Item.BOOTS};
+
+    private final GreedyPolicy greedy = new GreedyPolicy();
+
+    public String nextMove(SimulatedGame game) {
+        Hunter hunter = game.getHunter();
+        if (hunter.getSamurai() && (!hunter.hasItemInKit(Item.SWORD) || missingTerrainItem(hunter) != null)) {
+            return "b";
+        }
+        return greedy.nextMove(game);
+    }
+
+    public String chooseItem(SimulatedGame game, String buyOrSell) {
+        Hunter hunter = game.getHunter();
+        if (hunter.getSamurai()) {
+            if (!hunter.hasItemInKit(Item.SWORD)) {
+                return Item.SWORD.getName();
+            }
+            Item missing = missingTerrainItem(hunter);
+            if (missing != null) {
+                return missing.getName();
+            }
+        }
+        return greedy.chooseItem(game, buyOrSell);
+    }
+
+    private static Item missingTerrainItem(Hunter hunter) {
+        for (Item item : TERRAIN_ITEMS) {
+            if (!hunter.hasItemInKit(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The ScriptInput plays back a recorded script of moves from a UTF-8 text file, one or more commands per line.
+ * The whole file is memory-mapped when it is opened, so reading a line never waits on the disk or the keyboard.
+ * Lines starting with # are comments and are skipped.
+ */
+public class ScriptInput implements InputSource {
+    private final MappedByteBuffer script;
+
+    /**
+     * Opens a script file.
+     *
+     * @param path The script file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public ScriptInput(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            script = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public String readLine() {
+        while (script.hasRemaining()) {
+            int start = script.position();
+            int end = start;
+            while (end < script.limit() && script.get(end) != '\n') {
+                end++;
+            }
+            script.position(Math.min(end + 1, script.limit()));
+            if (end > start && script.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > start && script.get(start) == '#') {
+                continue;
+            }
+            byte[] line = new byte[end - start];
+            script.get(start, line);
+            return new String(line, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,245 @@
+package treasurehunter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The SeedSearch class looks for seeds whose first towns turn out the way a designer wants, such as a world where the
+ * first three towns hold the crown, the trophy and the gem, or a hard world whose first town is across an ocean.<p>
+ * The first towns of a seed are towns 0, 1, 2 and so on of a World or WorldStore with that seed, which are the towns
+ * a SimulatedGame with that seed visits in order. A game played by a person only meets them in that order when it is
+ * started on the seed with TreasureHunter.setWorldSeed, such as with TreasureHunterRunner --world, at the same
+ * difficulty; a game started the usual way rolls its own world seed, starts in a random town and takes random roads,
+ * so a seed found here says nothing about it. What is wanted is written as one TownPattern for each of the first
+ * towns, and optionally a number of first towns that must hold every collectible treasure between them in any
+ * order.<p>
+ * A seed is rolled only as far as it needs to be: the search stops at the first town that does not fit, and within a
+ * town it stops rolling as soon as the rest of the town no longer matters, so most seeds cost one or two rolls.
+ * Seeds are checked in rounds of ROUND_SEEDS spread over a fork-join pool, and the search ends after the round in
+ * which enough matches were found, so the matches returned are always the lowest seeds that match.
+ */
+public class SeedSearch {
+    private static final int ROUND_SEEDS = 1 << 20;
+    private static final int SEEDS_PER_TASK = 1 << 14;
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final TownPattern[] towns;
+    private final int collectTowns;
+    private final ForkJoinPool pool;
+    private long seedsScanned;
+
+    /**
+     * Sets up a search that runs on the common fork-join pool.
+     *
+     * @param difficulty   The difficulty the towns are rolled at.
+     * @param towns        What each of the first towns must be like, starting from the first.
+     * @param collectTowns How many first towns must hold the crown, the trophy and the gem between them, or 0.
+     */
+    public SeedSearch(Difficulty difficulty, List<TownPattern> towns, int collectTowns) {
+        this(difficulty, towns, collectTowns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sets up a search that runs on the given pool.
+     *
+     * @param difficulty   The difficulty the towns are rolled at.
+     * @param towns        What each of the first towns must be like, starting from the first.
+     * @param collectTowns How many first towns must hold the crown, the trophy and the gem between them, or 0.
+     * @param pool         The pool the seeds are checked on.
+     */
+    public SeedSearch(Difficulty difficulty, List<TownPattern> towns, int collectTowns, ForkJoinPool pool) {
+        if (collectTowns != 0 && collectTowns < Integer.bitCount(Treasure.ALL_COLLECTIBLE)) {
+            throw new IllegalArgumentException("Every treasure needs at least " + Integer.bitCount(Treasure.ALL_COLLECTIBLE)
+                    + " towns, not " + collectTowns);
+        }
+        this.difficulty = difficulty;
+        this.towns = towns.toArray(new TownPattern[0]);
+        this.collectTowns = collectTowns;
+        this.pool = pool;
+    }
+
+    /**
+     * Looks for the lowest seeds that match, checking seeds upwards from firstSeed.
+     *
+     * @param firstSeed The first seed checked.
+     * @param maxSeeds  The most seeds checked before giving up.
+     * @param wanted    The number of matches wanted.
+     * @return The matching seeds in the order they were checked; fewer than wanted if maxSeeds ran out first.
+     */
+    public long[] find(long firstSeed, long maxSeeds, int wanted) {
+        long[] found = new long[wanted];
+        int matches = 0;
+        seedsScanned = 0;
+        boolean[] matched = new boolean[ROUND_SEEDS];
+        while (matches < wanted && seedsScanned < maxSeeds) {
+            int seeds = (int) Math.min(ROUND_SEEDS, maxSeeds - seedsScanned);
+            long roundSeed = firstSeed + seedsScanned;
+            ParallelRange.forEach(pool, 0, seeds, SEEDS_PER_TASK, (from, to) -> {
+                for (int i = (int) from; i < to; i++) {
+                    matched[i] = matches(roundSeed + i);
+                }
+            });
+            for (int i = 0; i < seeds && matches < wanted; i++) {
+                if (matched[i]) {
+                    found[matches++] = roundSeed + i;
+                }
+            }
+            seedsScanned += seeds;
+        }
+        return Arrays.copyOf(found, matches);
+    }
+
+    /**
+     * Accessor method to get how many seeds the last call to find checked.
+     *
+     * @return The number of seeds checked, counting every seed of the last round.
+     */
+    public long getSeedsScanned() {
+        return seedsScanned;
+    }
+
+    /**
+     * Checks one seed, rolling its towns only until the answer is known.
+     * The rolls are made in the same order as WorldStore.rollTown makes them, so they give the same towns.
+     *
+     * @param seed The seed.
+     * @return True if the seed's first towns fit every pattern.
+     */
+    public boolean matches(long seed) {
+        TownOdds odds = difficulty.getTownOdds();
+        int missing = collectTowns == 0 ? 0 : Treasure.ALL_COLLECTIBLE;
+        int depth = Math.max(towns.length, collectTowns);
+        for (int townNumber = 0; townNumber < depth; townNumber++) {
+            TownPattern pattern = townNumber < towns.length ? towns[townNumber] : TownPattern.ANY;
+            boolean collecting = townNumber < collectTowns;
+            SplittableRandom random = WorldStore.townRandom(seed, townNumber);
+            if (!pattern.allowsTerrain(odds.rollTerrainType(random))) {
+                return false;
+            }
+            if (!collecting && pattern.treasureBits == TownPattern.ANY_TREASURE && pattern.toughness == null) {
+                continue;
+            }
+            Treasure treasure = odds.rollTreasure(random);
+            if (!pattern.allowsTreasure(treasure)) {
+                return false;
+            }
+            if (collecting) {
+                missing &= ~treasure.getBit();
+                // each town left can hold only one of the treasures still missing
+                if (Integer.bitCount(missing) > collectTowns - townNumber - 1) {
+                    return false;
+                }
+            }
+            if (pattern.toughness != null && (random.nextDouble() < difficulty.getToughness()) != pattern.toughness) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A TownPattern says what one town must be like: which terrains and treasures it may have, and whether it must be
+     * tough or quiet. A pattern is written as terms joined by '+', such as "ocean+crown" or "boat+quiet". A term is a
+     * terrain, the item needed to cross one, a treasure, "tough", "quiet" or "*". Several terrains in one pattern mean
+     * any of them will do, and so do several treasures.
+     */
+    public static class TownPattern {
+        private static final int ANY_TERRAIN = (1 << TownOdds.TERRAINS) - 1;
+        private static final int ANY_TREASURE = (1 << Treasure.VALUES.length) - 1;
+
+        /** The pattern every town fits. */
+        public static final TownPattern ANY = new TownPattern(ANY_TERRAIN, ANY_TREASURE, null);
+
+        private final int terrainBits;
+        private final int treasureBits;
+        private final Boolean toughness;
+
+        /**
+         * @param terrainBits  The terrains allowed, one bit per terrain type.
+         * @param treasureBits The treasures allowed, one bit per Treasure.
+         * @param toughness    True if the town must be tough, false if it must be quiet, or null for either.
+         */
+        public TownPattern(int terrainBits, int treasureBits, Boolean toughness) {
+            this.terrainBits = terrainBits;
+            this.treasureBits = treasureBits;
+            this.toughness = toughness;
+        }
+
+        /**
+         * Reads a pattern written as terms joined by '+'.
+         *
+         * @param text The pattern.
+         * @return The pattern.
+         */
+        public static TownPattern parse(String text) {
+            int terrains = 0;
+            int treasures = 0;
+            Boolean toughness = null;
+            for (String term : text.trim().toLowerCase().split("\\+")) {
+                term = term.trim();
+                int terrainType = terrainType(term);
+                Treasure treasure = Treasure.fromName(term);
+                if (terrainType >= 0) {
+                    terrains |= 1 << terrainType;
+                } else if (treasure != null) {
+                    treasures |= treasure.getBit();
+                } else if (term.equals("tough") || term.equals("quiet")) {
+                    toughness = term.equals("tough");
+                } else if (!term.equals("*")) {
+                    throw new IllegalArgumentException("Unknown town term: " + term);
+                }
+            }
+            return new TownPattern(terrains == 0 ? ANY_TERRAIN : terrains,
+                    treasures == 0 ? ANY_TREASURE : treasures, toughness);
+        }
+
+        public boolean allowsTerrain(int terrainType) {
+            return (terrainBits & 1 << terrainType) != 0;
+        }
+
+        public boolean allowsTreasure(Treasure treasure) {
+            return (treasureBits & treasure.getBit()) != 0;
+        }
+
+        /**
+         * Finds the terrain a term names, either by its own name or by the item needed to cross it.
+         *
+         * @param term The lowercase term.
+         * @return The terrain type, or -1 if the term is not a terrain.
+         */
+        private static int terrainType(String term) {
+            for (int terrainType = 0; terrainType < TownOdds.TERRAINS; terrainType++) {
+                Terrain terrain = Terrain.ofType(terrainType);
+                if (term.equals(terrain.getTerrainName().toLowerCase()) || term.equals(terrain.getNeededItem())) {
+                    return terrainType;
+                }
+            }
+            return -1;
+        }
+
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            if (terrainBits != ANY_TERRAIN) {
+                for (int terrainType = 0; terrainType < TownOdds.TERRAINS; terrainType++) {
+                    if (allowsTerrain(terrainType)) {
+                        text.append(text.length() == 0 ? "" : "+").append(Terrain.ofType(terrainType).getTerrainName().toLowerCase());
+                    }
+                }
+            }
+            if (treasureBits != ANY_TREASURE) {
+                for (Treasure treasure : Treasure.VALUES) {
+                    if (allowsTreasure(treasure)) {
+                        text.append(text.length() == 0 ? "" : "+").append(treasure.getName());
+                    }
+                }
+            }
+            if (toughness != null) {
+                text.append(text.length() == 0 ? "" : "+").append(toughness ? "tough" : "quiet");
+            }
+            return text.length() == 0 ? "*" : text.toString();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package treasurehunter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches for seeds whose first towns fit a pattern and prints them with their towns.
+ * The towns are written as patterns separated by commas, one for each of the first towns, such as "crown,trophy,gem"
+ * or "boat"; "-" means no town patterns. See SeedSearch.TownPattern for the terms a pattern can use.
+ * A seed found can be played with TreasureHunterRunner --world at the same difficulty.
+ * Usage: java SeedSearchRunner [difficulty: e, n, h or s] [towns] [first towns holding every treasure, or 0]
+ * [matches wanted] [first seed] [most seeds checked]
+ */
+public class SeedSearchRunner {
+    public static void main(String[] args) {
+        RunnerArgs arguments = new RunnerArgs(args);
+        Difficulty difficulty = arguments.getDifficulty(0, Difficulty.NORMAL);
+        String towns = arguments.get(1, "crown,trophy,gem");
+        int collectTowns = arguments.getInt(2, 0);
+        int wanted = arguments.getInt(3, 10);
+        long firstSeed = arguments.getLong(4, 0);
+        long maxSeeds = arguments.getLong(5, Long.MAX_VALUE);
+
+        List<SeedSearch.TownPattern> patterns = new ArrayList<>();
+        if (!towns.equals("-")) {
+            for (String town : towns.split(",")) {
+                patterns.add(SeedSearch.TownPattern.parse(town));
+            }
+        }
+        System.out.println(difficulty + ", towns " + patterns
+                + (collectTowns > 0 ? ", every treasure in the first " + collectTowns + " towns" : ""));
+
+        SeedSearch search = new SeedSearch(difficulty, patterns, collectTowns);
+        long start = System.nanoTime();
+        long[] seeds = search.find(firstSeed, maxSeeds, wanted);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int shown = Math.max(patterns.size(), collectTowns);
+        for (long seed : seeds) {
+            StringBuilder line = new StringBuilder(String.format("%20d ", seed));
+            for (int townNumber = 0; townNumber < shown; townNumber++) {
+                byte town = WorldStore.rollTown(seed, townNumber, difficulty);
+                line.append(" ").append(Terrain.ofType(WorldStore.terrainType(town)).getTerrainName())
+                        .append("/").append(WorldStore.treasure(town).getName())
+                        .append(WorldStore.isToughTown(town) ? "/tough" : "");
+            }
+            System.out.println(line);
+        }
+        long scanned = search.getSeedsScanned();
+        System.out.printf("Found %d of %d in %d seeds in %.2f seconds (%.1f billion seeds/hour)%n",
+                seeds.length, wanted, scanned, seconds, scanned / seconds * 3600 / 1e9);
+        if (seeds.length > 0) {
+            System.out.println("Play one with: java treasurehunter.TreasureHunterRunner --world " + seeds[0]
+                    + " and choose mode " + difficulty.getMode());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package treasurehunter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.awt.Color;
+
+/**
+ * The Shop class controls the cost of the items in the Treasure Hunt game. <p>
+ * The Shop class also acts as a go-between for the Hunter's buyItem() method. <p>
+ * This code has been adapted from Ivan Turner's original program -- thank you, Mr. Turner!
+ */
+public class Shop {
+    // constants
+    private static final int WATER_COST = 2;
+    private static final int ROPE_COST = 4;
+    private static final int MACHETE_COST = 6;
+    private static final int HORSE_COST = 12;
+    private static final int BOAT_COST = 20;
+    private static final int BOOTS_COST = 20;
+    private static final int SHOVEL_COST = 8;
+    private static final int SWORD_COST = 0;
+
+    // buy prices indexed by Item ordinal
+    private static final int[] BASE_PRICES = {
+            WATER_COST, ROPE_COST, MACHETE_COST, HORSE_COST, BOAT_COST, BOOTS_COST, SHOVEL_COST, SWORD_COST
+    };
+    // every shop with the same markdown shares one table
+    private static final Map<Double, PriceTable> PRICE_TABLES = new ConcurrentHashMap<>();
+
+    // instance variables
+    private PriceTable prices;
+    private boolean dealsInSwords;
+    private Hunter customer;
+    private OutputSink outputWindow;
+
+    /**
+     * The Shop constructor takes in a markdown value and leaves the customer null until one enters the shop.
+     * The shop does not deal in swords.
+     *
+     * @param markdown Percentage of markdown for selling items in decimal format.
+     */
+    public Shop(double markdown, OutputSink outputWindow) {
+        this(markdown, false, outputWindow);
+    }
+
+    /**
+     * Creates a shop that deals in swords if its customers are samurai.
+     *
+     * @param markdown      Percentage of markdown for selling items in decimal format.
+     * @param dealsInSwords Whether the sword is offered, which is only so in a samurai game.
+     */
+    public Shop(double markdown, boolean dealsInSwords, OutputSink outputWindow) {
+        this(PRICE_TABLES.computeIfAbsent(markdown, m -> new PriceTable(BASE_PRICES, m)), dealsInSwords, outputWindow);
+    }
+
+    /**
+     * Creates a shop with its own prices, for towns that charge differently from the rest.
+     * The shop does not deal in swords.
+     *
+     * @param prices The prices this shop charges.
+     */
+    public Shop(PriceTable prices, OutputSink outputWindow) {
+        this(prices, false, outputWindow);
+    }
+
+    /**
+     * Creates a shop with its own prices that deals in swords if its customers are samurai.
+     *
+     * @param prices        The prices this shop charges.
+     * @param dealsInSwords Whether the sword is offered, which is only so in a samurai game.
+     */
+    public Shop(PriceTable prices, boolean dealsInSwords, OutputSink outputWindow) {
+        this.prices = prices;
+        this.dealsInSwords = dealsInSwords;
+        this.customer = null; // is set in the enter method
+        this.outputWindow = outputWindow;
+    }
+
+    /**
+     * Method for entering the shop.
+     *
+     * @param hunter    The Hunter entering the shop.
+     * @param buyOrSell String that determines if the hunter is "B"uying or "S"elling.
+     * @param input     Where the customer's answers are read from.
+     */
+    public void enter(Hunter hunter, String buyOrSell, CommandReader input) {
+        FlightEvents.ShopVisit event = new FlightEvents.ShopVisit();
+        event.begin();
+        outputWindow.clear();
+        customer = hunter;
+        String outcome;
+
+        if (buyOrSell.equals("b")) {
+            outputWindow.addTextToWindow("Welcome to the shop! We have the finest wares in town.", Color.BLUE);
+            outputWindow.addTextToWindow("Currently, we have the following items:", Color.BLUE);
+            outputWindow.addTextToWindow(inventory(), Color.BLUE);
+            outputWindow.addTextToWindow("What're you lookin' to buy? ", Color.BLACK);
+            String item = readLine(input);
+            event.buying = true;
+            event.item = item;
+            int cost = checkMarketPrice(item, true);
+            if (Item.fromName(item) == null || (cost == 0 && !dealsInSwords)) {
+                outputWindow.addTextToWindow("We ain't got none of those.", Color.RED);
+                outcome = "not stocked";
+            } else {
+                outputWindow.addTextToWindow("It'll cost you " + cost + " gold. Buy it (y/n)? ", Color.BLACK);
+                String option = readLine(input);
+                outcome = completePurchase(item, option.equals("y"));
+            }
+        } else {
+            outputWindow.addTextToWindow("What're you lookin' to sell? ", Color.BLACK);
+            outputWindow.addTextToWindow("You currently have the following items: " + customer.getInventory(), Color.BLACK);
+            String item = readLine(input);
+            event.item = item;
+            int cost = checkMarketPrice(item, false);
+            if (cost == 0) {
+                outputWindow.addTextToWindow("We don't want none of those.", Color.RED);
+                outcome = "not wanted";
+            } else {
+                outputWindow.addTextToWindow("It'll get you " + cost + " gold. Sell it (y/n)? ", Color.BLACK);
+                String option = readLine(input);
+
+                if (option.equals("y")) {
+                    outcome = sellItem(item) ? "sold" : "refused";
+                } else {
+                    outcome = "declined";
+                }
+            }
+        }
+        event.commit(hunter, outcome);
+    }
+
+    /**
+     * Method for trading at the shop without any prompts, used when the game is played by a policy instead of a person.
+     * The same rules as the enter method apply, and the hunter always accepts the price.
+     *
+     * @param hunter    The Hunter trading at the shop.
+     * @param buyOrSell String that determines if the hunter is "B"uying or "S"elling.
+     * @param item      The item being bought or sold.
+     */
+    public void trade(Hunter hunter, String buyOrSell, String item) {
+        customer = hunter;
+
+        if (buyOrSell.equals("b")) {
+            if (Item.fromName(item) == null || (checkMarketPrice(item, true) == 0 && !dealsInSwords)) {
+                outputWindow.addTextToWindow("We ain't got none of those.", Color.RED);
+            } else {
+                completePurchase(item, true);
+            }
+        } else if (checkMarketPrice(item, false) == 0) {
+            outputWindow.addTextToWindow("We don't want none of those.", Color.RED);
+        } else {
+            sellItem(item);
+        }
+    }
+
+    /**
+     * Finishes a purchase once the price has been shown to the customer.
+     * A customer carrying a sword scares the shopkeeper into handing the item over for free.
+     *
+     * @param item     The item being bought.
+     * @param accepted Whether the customer agreed to pay the price.
+     * @return How the purchase turned out: "given freely", "bought", "refused" or "declined".
+     */
+    private String completePurchase(String item, boolean accepted) {
+        if (customer.hasItemInKit(Item.SWORD) && !customer.hasItemInKit(item)) {
+            outputWindow.addTextToWindow("The sword intimidates the shopkeeper, and he gives you the item freely.", Color.GREEN);
+            customer.addItem(item);
+            customer.getMetrics().count(Metrics.Counter.SHOP_FREEBIES);
+            return "given freely";
+        } else if (accepted) {
+            return buyItem(item) ? "bought" : "refused";
+        }
+        return "declined";
+    }
+
+    /**
+     * Reads the customer's next answer, first showing everything printed so far if the customer has not typed it yet.
+     *
+     * @param input Where the customer's answers are read from.
+     * @return The answer in lowercase, or an empty answer if the customer has gone away.
+     */
+    private String readLine(CommandReader input) {
+        if (!input.hasAnswerReady()) {
+            outputWindow.flush();
+        }
+        String answer = input.next();
+        return answer == null ? "" : answer.toLowerCase();
+    }
+
+    /**
+     * A method that returns a string showing the items available in the shop
+     * (all shops sell the same items).
+     *
+     * @return the string representing the shop's items available for purchase and their prices.
+     */
+    public String inventory() {
+        return prices.getCatalogue(dealsInSwords);
+    }
+
+    /**
+     * A method that lets the customer (a Hunter) buy an item.
+     *
+     * @param item The item being bought.
+     * @return True if the customer bought the item.
+     */
+    public boolean buyItem(String item) {
+        int costOfItem = checkMarketPrice(item, true);
+        if (customer.buyItem(item, costOfItem)) {
+            outputWindow.addTextToWindow("Ye' got yerself a " + item + ". Come again soon.", Color.GREEN);
+            customer.getMetrics().count(Metrics.Counter.SHOP_PURCHASES);
+            return true;
+        }
+        customer.getMetrics().count(Metrics.Counter.SHOP_REFUSALS);
+        outputWindow.addTextToWindow("Hmm, either you don't have enough gold or you've already got one of those!", Color.RED);
+        return false;
+    }
+
+    /**
+     * A pathway method that lets the Hunter sell an item.
+     *
+     * @param item The item being sold.
+     * @return True if the customer sold the item.
+     */
+    public boolean sellItem(String item) {
+        int buyBackPrice = checkMarketPrice(item, false);
+        if (customer.sellItem(item, buyBackPrice)) {
+            outputWindow.addTextToWindow("Pleasure doin' business with you.", Color.GREEN);
+            customer.getMetrics().count(Metrics.Counter.SHOP_SALES);
+            return true;
+        }
+        customer.getMetrics().count(Metrics.Counter.SHOP_REFUSALS);
+        outputWindow.addTextToWindow("Stop stringin' me along!", Color.RED);
+        return false;
+    }
+
+    /**
+     * Determines and returns the cost of buying or selling an item.
+     *
+     * @param item      The item in question.
+     * @param isBuying  Whether the item is being bought or sold.
+     * @return The cost of buying or selling the item based on the isBuying parameter.
+     */
+    public int checkMarketPrice(String item, boolean isBuying) {
+        if (isBuying) {
+            return getCostOfItem(item);
+        } else {
+            return getBuyBackCost(item);
+        }
+    }
+
+    /**
+     * Looks up the cost of the item entered in the shop's price table.
+     *
+     * @param item The item being checked for cost.
+     * @return The cost of the item or 0 if the item is not found.
+     */
+    public int getCostOfItem(String item) {
+        Item shopItem = Item.fromName(item);
+        if (shopItem == null || !sells(shopItem)) {
+            return 0;
+        }
+        return prices.getBuyPrice(shopItem);
+    }
+
+    /**
+     * Looks up the cost of the item with the markdown applied.
+     *
+     * @param item The item being sold.
+     * @return The sell price of the item.
+     */
+    public int getBuyBackCost(String item) {
+        Item shopItem = Item.fromName(item);
+        if (shopItem == null || !sells(shopItem)) {
+            return 0;
+        }
+        return prices.getSellPrice(shopItem);
+    }
+
+    /**
+     * Checks if the shop deals in an item. The sword is only offered by a shop that deals in swords.
+     *
+     * @param item The item in question.
+     * @return True if the item can be bought and sold here.
+     */
+    private boolean sells(Item item) {
+        return item != Item.SWORD || dealsInSwords;
+    }
+}
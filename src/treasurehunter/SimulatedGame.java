@@ -0,0 +1,189 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * The SimulatedGame class plays one full game of Treasure Hunter without a window or keyboard.
+ * It follows the same rules as TreasureHunter, but the moves come from a DecisionPolicy.
+ * The towns are rolled from the seed and how many towns came before, and the rolls made while playing come from a
+ * stream of their own, so every policy played with the same seed meets the same towns in the same order.
+ */
+public class SimulatedGame {
+    /**
+     * The ways a simulated game can end.
+     */
+    public enum Outcome {
+        WON,
+        BANKRUPT,
+        GAVE_UP
+    }
+
+    private static final String[] TEST_INVENTORY = {"water", "rope", "machete", "horse", "boat", "boots", "shovel"};
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final DecisionPolicy policy;
+    private final Shop shop;
+    private final long seed;
+    private final SplittableRandom random;
+    private final GameEventListener eventListener;
+    private MetricsRecorder metrics;
+    private Hunter hunter;
+    private Town currentTown;
+    private boolean dugOnce;
+    private boolean huntedHere;
+    private int turns;
+    private int townsVisited;
+
+    /**
+     * Sets up a game that has not started yet.
+     *
+     * @param difficulty The difficulty the game is played at.
+     * @param policy     The policy picking the moves.
+     * @param seed       The seed of the game's random source; the same seed and policy always play the same game.
+     */
+    public SimulatedGame(Difficulty difficulty, DecisionPolicy policy, long seed) {
+        this(difficulty, policy, seed, GameEventListener.NONE);
+    }
+
+    /**
+     * Sets up a game that has not started yet and reports everything that happens in it.
+     *
+     * @param difficulty    The difficulty the game is played at.
+     * @param policy        The policy picking the moves.
+     * @param seed          The seed of the game's random source; the same seed and policy always play the same game.
+     * @param eventListener The listener for the game's events.
+     */
+    public SimulatedGame(Difficulty difficulty, DecisionPolicy policy, long seed, GameEventListener eventListener) {
+        this.difficulty = difficulty;
+        this.eventListener = eventListener;
+        this.policy = policy;
+        this.seed = seed;
+        random = WorldStore.playRandom(seed);
+        // all shops in a difficulty are the same, so one is enough for the whole game
+        shop = new Shop(difficulty.getMarkdown(), difficulty.isSamurai(), NullOutput.INSTANCE);
+    }
+
+    /**
+     * Plays the game until it is won, the hunter goes bankrupt, or the policy gives up.
+     *
+     * @param maxTurns The number of moves after which the policy is treated as having given up.
+     * @return How the game ended.
+     */
+    public Outcome play(int maxTurns) {
+        metrics = Metrics.openRecorder();
+        Outcome outcome = playTurns(maxTurns);
+        eventListener.onEvent(GameEvent.GAME_ENDED, outcome.ordinal(), turns, 0);
+        metrics.gameEnded(hunter.getGold());
+        Metrics.closeRecorder(metrics);
+        return outcome;
+    }
+
+    private Outcome playTurns(int maxTurns) {
+        hunter = new Hunter("simulated hunter", difficulty.getStartingGold(), difficulty.isSamurai(), NullOutput.INSTANCE);
+        eventListener.onEvent(GameEvent.GAME_STARTED, difficulty.ordinal(), difficulty.getStartingGold(), difficulty.isSamurai() ? 1 : 0);
+        hunter.setEventListener(eventListener);
+        hunter.setMetrics(metrics);
+        metrics.gameStarted(hunter.getGold());
+        if (difficulty == Difficulty.TEST) {
+            for (String item : TEST_INVENTORY) {
+                hunter.buyItem(item, shop.checkMarketPrice(item, true));
+            }
+        }
+        enterTown();
+
+        while (turns < maxTurns) {
+            if (hunter.hasAllTreasures()) {
+                return Outcome.WON;
+            }
+            if (hunter.isBankrupt()) {
+                return Outcome.BANKRUPT;
+            }
+
+            String choice = policy.nextMove(this);
+            turns++;
+            if (choice.equals("x")) {
+                return Outcome.GAVE_UP;
+            }
+            long start = metrics.startTurn();
+            processChoice(choice);
+            metrics.stopTurn(choice, start);
+        }
+
+        if (hunter.hasAllTreasures()) {
+            return Outcome.WON;
+        }
+        return hunter.isBankrupt() ? Outcome.BANKRUPT : Outcome.GAVE_UP;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Hunter getHunter() {
+        return hunter;
+    }
+
+    public Town getCurrentTown() {
+        return currentTown;
+    }
+
+    public Shop getShop() {
+        return shop;
+    }
+
+    public boolean hasDugOnce() {
+        return dugOnce;
+    }
+
+    /**
+     * Checks if the hunter has already hunted for treasure in the current town.
+     * Towns with only dust are never marked as searched, so the game keeps track of this itself.
+     *
+     * @return True if the hunter has hunted in this town.
+     */
+    public boolean hasHuntedHere() {
+        return huntedHere;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getTownsVisited() {
+        return townsVisited;
+    }
+
+    private void enterTown() {
+        byte rolled = WorldStore.rollTown(seed, townsVisited, difficulty);
+        currentTown = new Town(shop, WorldStore.terrainType(rolled), WorldStore.treasure(rolled), WorldStore.isToughTown(rolled),
+                difficulty.getTownOdds(), random, NullOutput.INSTANCE);
+        currentTown.setEventListener(eventListener);
+        currentTown.hunterArrives(hunter);
+        huntedHere = false;
+        townsVisited++;
+    }
+
+    private void processChoice(String choice) {
+        if (choice.equals("b") || choice.equals("s")) {
+            currentTown.tradeAtShop(choice, policy.chooseItem(this, choice));
+        } else if (choice.equals("m")) {
+            if (currentTown.leaveTown(difficulty.isEasyMode())) {
+                enterTown();
+            }
+        } else if (choice.equals("l")) {
+            currentTown.lookForTrouble();
+        } else if (choice.equals("d")) {
+            if (currentTown.digForGold(dugOnce)) {
+                dugOnce = true;
+            }
+        } else if (choice.equals("h")) {
+            currentTown.huntForTreasure();
+            huntedHere = true;
+        }
+    }
+}
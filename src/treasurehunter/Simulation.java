@@ -0,0 +1,116 @@
+package treasurehunter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The Simulation class plays many headless games of Treasure Hunter across all cores using a fork-join pool.
+ * Each batch of games is split in half until it is small enough to play on one thread.
+ * Game number i of a run is seeded with baseSeed + i, so any single game can be replayed on its own.
+ * Every game owns its random source, so worker threads never contend on a shared generator.
+ */
+public class Simulation {
+    private static final int GAMES_PER_TASK = 2048;
+
+    // Instance variables
+    private final DecisionPolicy policy;
+    private final int maxTurns;
+    private final long baseSeed;
+    private final ForkJoinPool pool;
+    private EventLog eventLog;
+    private ResultLog resultLog;
+
+    /**
+     * Sets up a simulation that runs on the common fork-join pool.
+     *
+     * @param policy   The policy that plays every game.
+     * @param maxTurns The number of moves after which a game counts as given up.
+     * @param baseSeed The seed of the first game.
+     */
+    public Simulation(DecisionPolicy policy, int maxTurns, long baseSeed) {
+        this(policy, maxTurns, baseSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sets up a simulation that runs on the given pool.
+     *
+     * @param policy   The policy that plays every game.
+     * @param maxTurns The number of moves after which a game counts as given up.
+     * @param baseSeed The seed of the first game.
+     * @param pool     The pool the games are played on.
+     */
+    public Simulation(DecisionPolicy policy, int maxTurns, long baseSeed, ForkJoinPool pool) {
+        this.policy = policy;
+        this.maxTurns = maxTurns;
+        this.baseSeed = baseSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Records every event of every game into a log. Each worker thread buffers its own games.
+     *
+     * @param eventLog The log, or null to stop recording.
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Records one row per game into a columnar result log. Each worker thread fills its own chunks.
+     *
+     * @param resultLog The log, or null to stop recording.
+     */
+    public void setResultLog(ResultLog resultLog) {
+        this.resultLog = resultLog;
+    }
+
+    /**
+     * Plays a number of games at one difficulty.
+     *
+     * @param difficulty The difficulty to play at.
+     * @param games      How many games to play.
+     * @return The combined result of all the games.
+     */
+    public SimulationResult run(Difficulty difficulty, long games) {
+        return ParallelRange.reduce(pool, 0, games, GAMES_PER_TASK,
+                (from, to) -> playGames(difficulty, from, to), SimulationResult::merge);
+    }
+
+    /**
+     * Plays the same number of games at every difficulty.
+     *
+     * @param gamesPerDifficulty How many games to play at each difficulty.
+     * @return The result for each difficulty.
+     */
+    public Map<Difficulty, SimulationResult> runAll(long gamesPerDifficulty) {
+        Map<Difficulty, SimulationResult> results = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            results.put(difficulty, run(difficulty, gamesPerDifficulty));
+        }
+        return results;
+    }
+
+    /**
+     * Plays a range of games on one thread.
+     *
+     * @return The combined result of the range.
+     */
+    private SimulationResult playGames(Difficulty difficulty, long from, long to) {
+        SimulationResult result = new SimulationResult();
+        GameEventListener listener = GameEventListener.NONE;
+        if (eventLog != null) {
+            listener = eventLog.writerForThisThread();
+        }
+        ResultLogWriter results = resultLog != null ? resultLog.writerForThisThread() : null;
+        for (long i = from; i < to; i++) {
+            SimulatedGame game = new SimulatedGame(difficulty, policy, baseSeed + i, listener);
+            SimulatedGame.Outcome outcome = game.play(maxTurns);
+            result.record(outcome, game.getTurns());
+            if (results != null) {
+                results.record(game, outcome);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package treasurehunter;
+
+/**
+ * The SimulationResult class adds up how a batch of simulated games ended.
+ * Results from different worker threads are combined with the merge method.
+ */
+public class SimulationResult {
+    // Instance variables
+    private long games;
+    private long wins;
+    private long bankruptcies;
+    private long gaveUp;
+    private long turnsToWin;
+
+    /**
+     * Counts one finished game.
+     *
+     * @param outcome How the game ended.
+     * @param turns   The number of moves the game took.
+     */
+    public void record(SimulatedGame.Outcome outcome, int turns) {
+        games++;
+        if (outcome == SimulatedGame.Outcome.WON) {
+            wins++;
+            turnsToWin += turns;
+        } else if (outcome == SimulatedGame.Outcome.BANKRUPT) {
+            bankruptcies++;
+        } else {
+            gaveUp++;
+        }
+    }
+
+    /**
+     * Adds the counts of another result to this one.
+     *
+     * @param other The result to add.
+     * @return This result, so merges can be chained.
+     */
+    public SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        wins += other.wins;
+        bankruptcies += other.bankruptcies;
+        gaveUp += other.gaveUp;
+        turnsToWin += other.turnsToWin;
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getBankruptcies() {
+        return bankruptcies;
+    }
+
+    public long getGaveUp() {
+        return gaveUp;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getBankruptcyRate() {
+        return games == 0 ? 0 : (double) bankruptcies / games;
+    }
+
+    /**
+     * Accessor method to get the average number of moves it took to win, counting only the games that were won.
+     *
+     * @return The average turns to win, or 0 if no game was won.
+     */
+    public double getAverageTurnsToWin() {
+        return wins == 0 ? 0 : (double) turnsToWin / wins;
+    }
+
+    public String toString() {
+        return String.format("%d games, win rate %.2f%%, bankruptcy rate %.2f%%, gave up %d, average turns to win %.1f",
+                games, getWinRate() * 100, getBankruptcyRate() * 100, gaveUp, getAverageTurnsToWin());
+    }
+}
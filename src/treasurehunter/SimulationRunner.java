@@ -0,0 +1,52 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Runs the headless simulation at every difficulty and prints the results.
+ * Usage: java SimulationRunner [games per difficulty] [max turns per game] [seed] [event log file] [result file] [compress]
+ * An event log file of "-" records no events. A result file gets one columnar row per game, compressed if the last
+ * argument is "compress"; read it back with ResultLogRunner.
+ * Metrics are printed at the end unless the JVM is started with -Dtreasurehunter.metrics=false.
+ */
+public class SimulationRunner {
+    public static void main(String[] args) throws IOException {
+        RunnerArgs arguments = new RunnerArgs(args);
+        long games = arguments.getLong(0, 100000);
+        int maxTurns = arguments.getInt(1, 500);
+        long seed = arguments.getLong(2, System.nanoTime());
+
+        Simulation simulation = new Simulation(new GreedyPolicy(), maxTurns, seed);
+        EventLog eventLog = null;
+        if (!arguments.get(3, "-").equals("-")) {
+            eventLog = new EventLog(arguments.getPath(3, null));
+            simulation.setEventLog(eventLog);
+        }
+        ResultLog resultLog = null;
+        if (arguments.has(4)) {
+            resultLog = new ResultLog(arguments.getPath(4, null), arguments.get(5, "").equals("compress"));
+            simulation.setResultLog(resultLog);
+        }
+        long start = System.nanoTime();
+        Map<Difficulty, SimulationResult> results = simulation.runAll(games);
+        if (eventLog != null) {
+            eventLog.close();
+        }
+        if (resultLog != null) {
+            resultLog.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Seed: " + seed);
+        for (Map.Entry<Difficulty, SimulationResult> entry : results.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        long totalGames = games * results.size();
+        System.out.printf("Played %d games in %.2f seconds (%.0f games/minute)%n", totalGames, seconds, totalGames / seconds * 60);
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.snapshot().toText());
+        }
+    }
+}
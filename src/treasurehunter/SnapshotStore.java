@@ -0,0 +1,126 @@
+package treasurehunter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The SnapshotStore keeps saved games in a memory-mapped file of fixed-size slots, one game per slot.
+ * Saving a game is a handful of stores into the mapped file, so games can be saved every turn.
+ * The operating system writes the pages out in the background; force can be called to make sure they are on disk.
+ * Different slots may be saved from different threads at the same time.
+ */
+public class SnapshotStore implements Closeable {
+    /** The number of bytes each saved game takes. */
+    public static final int SLOT_SIZE = 64;
+    // the version changes when a saved world would come back different, so older saves read as empty slots;
+    // it last changed when towns started being rolled from mixed seeds
+    private static final int MAGIC = 0x54485333; // "THS3"
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    /**
+     * Opens a snapshot file, creating it if needed.
+     *
+     * @param path  The snapshot file.
+     * @param slots How many games the file can hold.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public SnapshotStore(Path path, int slots) throws IOException {
+        this.slots = slots;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * SLOT_SIZE);
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Checks if a slot holds a saved game.
+     * A slot whose numbers the game cannot load, such as a difficulty it does not have, counts as empty.
+     *
+     * @param slot The slot number.
+     * @return True if a game has been saved in the slot.
+     */
+    public boolean hasSnapshot(int slot) {
+        int offset = offset(slot);
+        return buffer.getInt(offset) == MAGIC && TreasureHunter.isLoadableSnapshot(buffer.slice(offset, SLOT_SIZE));
+    }
+
+    /**
+     * Saves a game into a slot.
+     * The slot is marked empty while it is being written, so a crash part way through never leaves half a game behind.
+     *
+     * @param slot The slot number.
+     * @param game The game to save.
+     */
+    public void save(int slot, TreasureHunter game) {
+        int offset = offset(slot);
+        buffer.putInt(offset, 0);
+        game.saveSnapshot(buffer.slice(offset, SLOT_SIZE));
+        buffer.putInt(offset, MAGIC);
+    }
+
+    /**
+     * Loads the game saved in a slot.
+     *
+     * @param slot The slot number.
+     * @param game The game to load into.
+     * @return False if the slot is empty or cannot be loaded.
+     */
+    public boolean load(int slot, TreasureHunter game) {
+        if (!hasSnapshot(slot)) {
+            return false;
+        }
+        game.loadSnapshot(buffer.slice(offset(slot), SLOT_SIZE));
+        return true;
+    }
+
+    /**
+     * Reads the name of the hunter whose game is saved in a slot.
+     *
+     * @param slot The slot number.
+     * @return The name, or null if the slot is empty.
+     */
+    public String getHunterName(int slot) {
+        if (!hasSnapshot(slot)) {
+            return null;
+        }
+        return TreasureHunter.snapshotHunterName(buffer.slice(offset(slot), SLOT_SIZE));
+    }
+
+    /**
+     * Empties a slot, such as when its game is over.
+     *
+     * @param slot The slot number.
+     */
+    public void clear(int slot) {
+        buffer.putInt(offset(slot), 0);
+    }
+
+    /**
+     * Waits until every saved game has been written to disk.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int offset(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IndexOutOfBoundsException("No snapshot slot " + slot);
+        }
+        return slot * SLOT_SIZE;
+    }
+}
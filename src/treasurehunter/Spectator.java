@@ -0,0 +1,52 @@
+package treasurehunter;
+
+/**
+ * A Spectator watches one game through its SpectatorFeed, reading the snapshots in the order they were published.
+ * A spectator must only be used by one thread at a time, but any number of spectators can watch the same feed.
+ */
+public class Spectator {
+    // Instance variables
+    private final SpectatorFeed feed;
+    private long next;
+    private long skipped;
+
+    Spectator(SpectatorFeed feed, long next) {
+        this.feed = feed;
+        this.next = next;
+    }
+
+    /**
+     * Reads the next snapshot. If the spectator has fallen so far behind that it was written over, the snapshots
+     * missed are skipped and the oldest one still in the feed is read instead.
+     *
+     * @return The next snapshot, or null if the spectator has seen every snapshot published so far.
+     */
+    public GameSnapshot poll() {
+        while (true) {
+            long published = feed.getPublished() - 1;
+            if (next > published) {
+                return null;
+            }
+            long oldest = published - feed.getCapacity() + 1;
+            if (next < oldest) {
+                skipped += oldest - next;
+                next = oldest;
+            }
+            SpectatorFeed.Entry entry = feed.read(next);
+            if (entry.sequence == next) {
+                next++;
+                return entry.snapshot;
+            }
+            // the game published a ring's worth more while we looked; try again from the new oldest
+        }
+    }
+
+    /**
+     * Accessor method to get how many snapshots this spectator missed by falling behind.
+     *
+     * @return The number of snapshots skipped.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,110 @@
+package treasurehunter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The SpectatorFeed streams the snapshots of one game to any number of Spectators.<p>
+ * It is a ring buffer with a single producer, the game's thread, and many consumers. Publishing a snapshot is one
+ * store into the ring and one volatile write, whatever the number of spectators: the game never waits for anyone and
+ * never takes a lock. Each spectator keeps its own place in the ring. A spectator that falls more than a ring's worth
+ * of snapshots behind has the oldest ones written over, and skips ahead to the oldest snapshot still there, so a slow
+ * spectator never holds the game back.
+ */
+public class SpectatorFeed {
+    /** The number of snapshots kept when no capacity is given. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // Instance variables
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    // the sequence number of the last snapshot published, -1 before the first
+    private volatile long published = -1;
+
+    /**
+     * Creates a feed that keeps the default number of snapshots.
+     */
+    public SpectatorFeed() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a feed.
+     *
+     * @param capacity How many snapshots are kept for spectators that fall behind, rounded up to a power of two.
+     */
+    public SpectatorFeed(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("A feed must keep from 1 to " + (1 << 30) + " snapshots, not " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        ring = new AtomicReferenceArray<>(Math.max(1, size));
+        mask = ring.length() - 1;
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    /**
+     * Publishes a snapshot to every spectator. Only the game's own thread may call this.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void publish(GameSnapshot snapshot) {
+        long sequence = published + 1;
+        ring.set((int) sequence & mask, new Entry(sequence, snapshot));
+        // the volatile write makes the entry visible to every spectator that sees the new sequence number
+        published = sequence;
+    }
+
+    /**
+     * Starts watching the game from its latest snapshot, or from the first one if nothing has been published yet.
+     *
+     * @return The new spectator.
+     */
+    public Spectator watch() {
+        return new Spectator(this, Math.max(0, published));
+    }
+
+    /**
+     * Accessor method to get the latest snapshot, for a spectator that only ever wants the current state.
+     *
+     * @return The latest snapshot, or null if nothing has been published yet.
+     */
+    public GameSnapshot getLatest() {
+        long sequence = published;
+        return sequence < 0 ? null : ring.get((int) sequence & mask).snapshot;
+    }
+
+    /**
+     * Accessor method to get how many snapshots have been published.
+     *
+     * @return The number of snapshots.
+     */
+    public long getPublished() {
+        return published + 1;
+    }
+
+    /**
+     * Reads the snapshot with a sequence number, for a Spectator.
+     *
+     * @param sequence The sequence number wanted.
+     * @return The entry in its place in the ring, which is a later one if the wanted one has been written over.
+     */
+    Entry read(long sequence) {
+        return ring.get((int) sequence & mask);
+    }
+
+    /**
+     * An Entry is one place in the ring: a snapshot and its sequence number.
+     */
+    static final class Entry {
+        final long sequence;
+        final GameSnapshot snapshot;
+
+        Entry(long sequence, GameSnapshot snapshot) {
+            this.sequence = sequence;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package treasurehunter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The StreamInput reads lines of UTF-8 text from a stream, such as the console or a player's network connection.
+ */
+public class StreamInput implements InputSource {
+    private final BufferedReader in;
+
+    /**
+     * Creates an input that reads from the given stream.
+     *
+     * @param in The stream the player types into.
+     */
+    public StreamInput(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates an input that reads from the console.
+     *
+     * @return The input.
+     */
+    public static StreamInput console() {
+        return new StreamInput(System.in);
+    }
+
+    public String readLine() {
+        try {
+            return in.readLine();
+        } catch (IOException e) {
+            // a broken connection means the player has gone away
+            return null;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package treasurehunter;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The StressHarness plays random sequences of actions straight against Hunter, Shop and Town, and checks the rules of
+ * the game after every step: gold is only below zero once the hunter is bankrupt, the kit holds no more than it can
+ * and only a samurai carries the sword, no more than three treasures are found, the shop's prices agree with each
+ * other, and every trade moves exactly the gold it should.<p>
+ * Sequences are spread over a fork-join pool. Sequence number i of a run is made from baseSeed + i, and its towns are
+ * rolled from the same seed, so any sequence can be played again on its own. Once a sequence breaks a rule, the
+ * harness stops handing out new work and shrinks the sequence: it keeps dropping runs of actions, then lowering what
+ * each action picks, for as long as the smaller sequence still breaks the same rule.
+ */
+public class StressHarness {
+    /**
+     * The actions a sequence is made of. Each action picks one number, such as the item to buy.
+     */
+    public enum Action {
+        BUY(Item.VALUES.length),
+        SELL(Item.VALUES.length),
+        LOOK_FOR_TROUBLE(1),
+        DIG(1),
+        HUNT(1),
+        MOVE(1),
+        ADD_ITEM(Item.VALUES.length),
+        ADD_TREASURE(Treasure.VALUES.length),
+        REMOVE_ITEM(Item.VALUES.length);
+
+        static final Action[] VALUES = values();
+
+        private final int choices;
+
+        Action(int choices) {
+            this.choices = choices;
+        }
+
+        /**
+         * Accessor method to get how many different numbers this action can pick.
+         *
+         * @return The number of choices, 1 if the action picks nothing.
+         */
+        public int getChoices() {
+            return choices;
+        }
+    }
+
+    private static final int SEQUENCES_PER_TASK = 256;
+    // an action is stored as its ordinal above the number it picks
+    private static final int CHOICE_BITS = 8;
+    private static final int CHOICE_MASK = (1 << CHOICE_BITS) - 1;
+
+    // Instance variables
+    private final int maxActions;
+    private final long baseSeed;
+    private final ForkJoinPool pool;
+    private final LongAdder steps = new LongAdder();
+    private final AtomicReference<Failure> failure = new AtomicReference<>();
+
+    /**
+     * Sets up a harness that runs on the common fork-join pool.
+     *
+     * @param maxActions The most actions in one sequence.
+     * @param baseSeed   The seed of the first sequence.
+     */
+    public StressHarness(int maxActions, long baseSeed) {
+        this(maxActions, baseSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sets up a harness that runs on the given pool.
+     *
+     * @param maxActions The most actions in one sequence.
+     * @param baseSeed   The seed of the first sequence.
+     * @param pool       The pool the sequences are played on.
+     */
+    public StressHarness(int maxActions, long baseSeed, ForkJoinPool pool) {
+        this.maxActions = maxActions;
+        this.baseSeed = baseSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays random sequences until they have all passed or one breaks a rule.
+     *
+     * @param sequences How many sequences to play.
+     * @return The first broken rule found, already shrunk, or null if every sequence passed.
+     */
+    public Failure run(long sequences) {
+        ParallelRange.forEach(pool, 0, sequences, SEQUENCES_PER_TASK, this::playSequences);
+        Failure found = failure.get();
+        return found == null ? null : shrink(found);
+    }
+
+    /**
+     * Accessor method to get how many steps have been checked so far.
+     *
+     * @return The number of actions played and checked.
+     */
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    /**
+     * Makes the actions of one sequence.
+     *
+     * @param random     The sequence's own random source.
+     * @param maxActions The most actions in the sequence.
+     * @return The actions.
+     */
+    static int[] randomActions(SplittableRandom random, int maxActions) {
+        int[] actions = new int[1 + random.nextInt(maxActions)];
+        for (int i = 0; i < actions.length; i++) {
+            Action action = Action.VALUES[random.nextInt(Action.VALUES.length)];
+            actions[i] = action.ordinal() << CHOICE_BITS | random.nextInt(action.getChoices());
+        }
+        return actions;
+    }
+
+    /**
+     * Plays a sequence from the start and checks the rules after every step.
+     * The sequence stops early once the game is over, as a real game would.
+     *
+     * @param difficulty The difficulty the hunter, shop and towns are made with.
+     * @param seed       The seed the towns are rolled from.
+     * @param actions    The actions to play.
+     * @param steps      Counts the steps played, or null.
+     * @return The first rule broken, or null if there was none.
+     */
+    static Failure play(Difficulty difficulty, long seed, int[] actions, LongAdder steps) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Shop shop = new Shop(difficulty.getMarkdown(), difficulty.isSamurai(), NullOutput.INSTANCE);
+        Hunter hunter = new Hunter("stress hunter", difficulty.getStartingGold(), difficulty.isSamurai(), NullOutput.INSTANCE);
+        String broken = checkPrices(shop, hunter);
+        if (broken != null) {
+            return new Failure(difficulty, seed, new int[0], broken);
+        }
+        Town town = new Town(shop, difficulty, random, NullOutput.INSTANCE);
+        town.hunterArrives(hunter);
+        // like the game, a hunter digs once per game, not once per town
+        boolean dugOnce = false;
+
+        for (int step = 0; step < actions.length; step++) {
+            if (hunter.isBankrupt() || hunter.hasAllTreasures()) {
+                break;
+            }
+            Action action = Action.VALUES[actions[step] >>> CHOICE_BITS];
+            int choice = actions[step] & CHOICE_MASK;
+            Item item = Item.VALUES[choice % Item.VALUES.length];
+            int goldBefore = hunter.getGold();
+            int kitBefore = hunter.getKitBits();
+            int treasuresBefore = hunter.getTreasureBits();
+            broken = null;
+
+            switch (action) {
+                case BUY:
+                    town.tradeAtShop("b", item.getName());
+                    broken = checkPurchase(shop, hunter, item, goldBefore, kitBefore);
+                    break;
+                case SELL:
+                    town.tradeAtShop("s", item.getName());
+                    broken = checkSale(shop, hunter, item, goldBefore, kitBefore);
+                    break;
+                case LOOK_FOR_TROUBLE:
+                    town.lookForTrouble();
+                    if (hunter.hasItemInKit(Item.SWORD) && hunter.getGold() < goldBefore) {
+                        broken = "a hunter with a sword lost a brawl";
+                    }
+                    break;
+                case DIG:
+                    boolean dugBefore = dugOnce;
+                    if (town.digForGold(dugOnce)) {
+                        dugOnce = true;
+                    }
+                    if (hunter.getGold() < goldBefore) {
+                        broken = "digging cost gold";
+                    } else if (dugBefore && hunter.getGold() != goldBefore) {
+                        broken = "dug for gold twice in one game";
+                    }
+                    break;
+                case HUNT:
+                    town.huntForTreasure();
+                    break;
+                case MOVE:
+                    if (town.leaveTown(difficulty.isEasyMode())) {
+                        town = new Town(shop, difficulty, random, NullOutput.INSTANCE);
+                        town.hunterArrives(hunter);
+                    }
+                    break;
+                case ADD_ITEM:
+                    // the game only ever hands the sword to a samurai
+                    if (item != Item.SWORD || hunter.getSamurai()) {
+                        hunter.addItem(item);
+                    }
+                    break;
+                case ADD_TREASURE:
+                    hunter.addTreasure(Treasure.VALUES[choice % Treasure.VALUES.length]);
+                    break;
+                case REMOVE_ITEM:
+                    hunter.removeItemFromKit(item);
+                    break;
+            }
+            if (broken == null) {
+                broken = checkHunter(hunter, treasuresBefore);
+            }
+            if (broken != null) {
+                count(steps, step + 1);
+                return new Failure(difficulty, seed, Arrays.copyOf(actions, step + 1), broken);
+            }
+        }
+        count(steps, actions.length);
+        return null;
+    }
+
+    private static void count(LongAdder steps, int played) {
+        if (steps != null) {
+            steps.add(played);
+        }
+    }
+
+    /**
+     * Checks the rules that must hold for a hunter at every step.
+     *
+     * @return The rule broken, or null.
+     */
+    private static String checkHunter(Hunter hunter, int treasuresBefore) {
+        if (hunter.getGold() < 0 && !hunter.isBankrupt()) {
+            return "gold is " + hunter.getGold() + " but the hunter is not bankrupt";
+        }
+        int kit = hunter.getKitBits();
+        int capacity = hunter.getSamurai() ? 8 : 7;
+        if (kit >>> Item.VALUES.length != 0 || Integer.bitCount(kit) > capacity) {
+            return "the kit " + Integer.toBinaryString(kit) + " holds more than " + capacity + " items";
+        }
+        if (hunter.hasItemInKit(Item.SWORD) && !hunter.getSamurai()) {
+            return "a hunter who is not a samurai has the sword";
+        }
+        String[] names = hunter.getInventory().trim().split(" ");
+        Set<String> unique = new HashSet<>(Arrays.asList(names));
+        if (kit != 0 && (unique.size() != names.length || names.length != Integer.bitCount(kit))) {
+            return "the inventory lists \"" + hunter.getInventory() + "\" for " + Integer.bitCount(kit) + " items";
+        }
+        int treasures = hunter.getTreasureBits();
+        if ((treasures & ~Treasure.ALL_COLLECTIBLE) != 0 || Integer.bitCount(treasures) > 3) {
+            return "the treasures found are " + Integer.toBinaryString(treasures);
+        }
+        if ((treasures & treasuresBefore) != treasuresBefore) {
+            return "a treasure was lost";
+        }
+        if (hunter.hasAllTreasures() != (treasures == Treasure.ALL_COLLECTIBLE)) {
+            return "hasAllTreasures disagrees with the treasures found";
+        }
+        if (!hunter.toString().equals(hunter.appendStatus(new StringBuilder()).toString())) {
+            return "the status \"" + hunter + "\" is out of date";
+        }
+        return null;
+    }
+
+    /**
+     * Checks that an item is never bought back for more than it sells for.
+     *
+     * @return The rule broken, or null.
+     */
+    private static String checkPrices(Shop shop, Hunter hunter) {
+        for (Item item : Item.VALUES) {
+            int buy = shop.checkMarketPrice(item.getName(), true);
+            int sell = shop.checkMarketPrice(item.getName(), false);
+            if (sell < 0 || sell > buy) {
+                return "the " + item.getName() + " costs " + buy + " but sells for " + sell;
+            }
+            if (item == Item.SWORD && !hunter.getSamurai() && buy + sell != 0) {
+                return "the sword is for sale to a hunter who is not a samurai";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that a purchase either took the item's price, was a sword-wielder's freebie, or changed nothing.
+     *
+     * @return The rule broken, or null.
+     */
+    private static String checkPurchase(Shop shop, Hunter hunter, Item item, int goldBefore, int kitBefore) {
+        int price = shop.checkMarketPrice(item.getName(), true);
+        int paid = goldBefore - hunter.getGold();
+        if (hunter.getKitBits() == kitBefore) {
+            return paid == 0 ? null : "paid " + paid + " gold for a " + item.getName() + " that never came";
+        }
+        if (hunter.getKitBits() != (kitBefore | item.getBit())) {
+            return "buying a " + item.getName() + " changed the kit from " + Integer.toBinaryString(kitBefore)
+                    + " to " + Integer.toBinaryString(hunter.getKitBits());
+        }
+        boolean freebie = (kitBefore & Item.SWORD.getBit()) != 0 && paid == 0;
+        if (paid != price && !freebie) {
+            return "paid " + paid + " gold for a " + item.getName() + " that costs " + price;
+        }
+        return null;
+    }
+
+    /**
+     * Checks that a sale either paid the item's buy-back price or changed nothing.
+     *
+     * @return The rule broken, or null.
+     */
+    private static String checkSale(Shop shop, Hunter hunter, Item item, int goldBefore, int kitBefore) {
+        int price = shop.checkMarketPrice(item.getName(), false);
+        int received = hunter.getGold() - goldBefore;
+        if (hunter.getKitBits() == kitBefore) {
+            return received == 0 ? null : "received " + received + " gold for a " + item.getName() + " still in the kit";
+        }
+        if (hunter.getKitBits() != (kitBefore & ~item.getBit())) {
+            return "selling a " + item.getName() + " changed the kit from " + Integer.toBinaryString(kitBefore)
+                    + " to " + Integer.toBinaryString(hunter.getKitBits());
+        }
+        if (received != price || price <= 0) {
+            return "received " + received + " gold for a " + item.getName() + " that sells for " + price;
+        }
+        return null;
+    }
+
+    /**
+     * Shrinks a failing sequence to one that breaks the same rule with as few and as simple actions as possible.
+     *
+     * @param found The failing sequence.
+     * @return The shrunk sequence and the rule it breaks.
+     */
+    static Failure shrink(Failure found) {
+        Failure smallest = found;
+        boolean shrunk = true;
+        while (shrunk) {
+            shrunk = false;
+            int[] actions = smallest.actions;
+            // drop runs of actions, from half the sequence down to single actions
+            for (int run = Math.max(1, actions.length / 2); run >= 1 && !shrunk; run /= 2) {
+                for (int from = 0; from + run <= actions.length && !shrunk; from += run) {
+                    int[] fewer = new int[actions.length - run];
+                    System.arraycopy(actions, 0, fewer, 0, from);
+                    System.arraycopy(actions, from + run, fewer, from, actions.length - from - run);
+                    Failure again = stillFails(smallest, fewer);
+                    if (again != null) {
+                        smallest = again;
+                        shrunk = true;
+                    }
+                }
+            }
+            // then make each action pick a lower number
+            for (int i = 0; i < smallest.actions.length && !shrunk; i++) {
+                int choice = smallest.actions[i] & CHOICE_MASK;
+                for (int lower = 0; lower < choice && !shrunk; lower++) {
+                    int[] simpler = smallest.actions.clone();
+                    simpler[i] = simpler[i] & ~CHOICE_MASK | lower;
+                    Failure again = stillFails(smallest, simpler);
+                    if (again != null) {
+                        smallest = again;
+                        shrunk = true;
+                    }
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Plays a smaller version of a failing sequence.
+     *
+     * @return The new failure if the same rule is broken, otherwise null.
+     */
+    private static Failure stillFails(Failure failure, int[] actions) {
+        Failure again = play(failure.difficulty, failure.seed, actions, null);
+        return again != null && ruleOf(again.violation).equals(ruleOf(failure.violation)) ? again : null;
+    }
+
+    /**
+     * Strips the numbers out of a broken rule, so the same rule broken with different gold still counts as the same.
+     */
+    private static String ruleOf(String violation) {
+        return violation.replaceAll("-?\\d+", "#");
+    }
+
+    /**
+     * A Failure is a sequence of actions, and the rule it broke on its last step.
+     */
+    public static class Failure {
+        private final Difficulty difficulty;
+        private final long seed;
+        private final int[] actions;
+        private final String violation;
+
+        Failure(Difficulty difficulty, long seed, int[] actions, String violation) {
+            this.difficulty = difficulty;
+            this.seed = seed;
+            this.actions = actions;
+            this.violation = violation;
+        }
+
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getLength() {
+            return actions.length;
+        }
+
+        public String getViolation() {
+            return violation;
+        }
+
+        /**
+         * Lists the actions one per line, so the failure can be played again by hand.
+         *
+         * @return The difficulty, seed, actions and the rule broken.
+         */
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(difficulty).append(", seed ").append(seed).append(", ").append(actions.length).append(" actions:\n");
+            for (int action : actions) {
+                Action kind = Action.VALUES[action >>> CHOICE_BITS];
+                int choice = action & CHOICE_MASK;
+                text.append("  ").append(kind);
+                if (kind == Action.ADD_TREASURE) {
+                    text.append(' ').append(Treasure.VALUES[choice].getName());
+                } else if (kind.getChoices() > 1) {
+                    text.append(' ').append(Item.VALUES[choice].getName());
+                }
+                text.append('\n');
+            }
+            return text.append("Broken rule: ").append(violation).toString();
+        }
+    }
+
+    /**
+     * Plays a range of sequences on one thread, and stops handing out sequences once any sequence has failed.
+     */
+    private void playSequences(long from, long to) {
+        for (long i = from; i < to && failure.get() == null; i++) {
+            long seed = baseSeed + i;
+            // split, so the actions are not made from the same numbers the towns are rolled from
+            SplittableRandom random = new SplittableRandom(seed).split();
+            Difficulty difficulty = Difficulty.values()[random.nextInt(Difficulty.values().length)];
+            Failure found = play(difficulty, seed, randomActions(random, maxActions), steps);
+            if (found != null) {
+                failure.compareAndSet(null, found);
+            }
+        }
+    }
+}
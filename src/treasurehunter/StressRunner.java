@@ -0,0 +1,30 @@
+package treasurehunter;
+
+/**
+ * Runs the stress harness and prints the shrunk sequence of the first rule broken, if any.
+ * Usage: java StressRunner [sequences] [max actions per sequence] [seed]
+ * Exits with status 1 if a rule was broken, so it can gate a build.
+ */
+public class StressRunner {
+    public static void main(String[] args) {
+        RunnerArgs arguments = new RunnerArgs(args);
+        long sequences = arguments.getLong(0, 1_000_000);
+        int maxActions = arguments.getInt(1, 200);
+        long seed = arguments.getLong(2, System.nanoTime());
+
+        StressHarness harness = new StressHarness(maxActions, seed);
+        long start = System.nanoTime();
+        StressHarness.Failure failure = harness.run(sequences);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Seed: " + seed);
+        System.out.printf("Checked %d steps in %.2f seconds%n", harness.getSteps(), seconds);
+        if (failure == null) {
+            System.out.println("Every rule held.");
+        } else {
+            System.out.println("A rule was broken. Smallest sequence found:");
+            System.out.println(failure);
+            System.exit(1);
+        }
+    }
+}
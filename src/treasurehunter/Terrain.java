@@ -1,3 +1,5 @@
+package treasurehunter;
+
 import java.awt.Color;
 
 /**
@@ -5,10 +7,20 @@ import java.awt.Color;
  * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
  */
 public class Terrain {
+    // one shared terrain for each terrain type, indexed by type; terrains never print, so they have no window
+    private static final Terrain[] TERRAINS = {
+            new Terrain("Mountains", "Rope", NullOutput.INSTANCE),
+            new Terrain("Ocean", "Boat", NullOutput.INSTANCE),
+            new Terrain("Plains", "Horse", NullOutput.INSTANCE),
+            new Terrain("Desert", "Water", NullOutput.INSTANCE),
+            new Terrain("Jungle", "Machete", NullOutput.INSTANCE),
+            new Terrain("Marsh", "Boots", NullOutput.INSTANCE)
+    };
+
     // Instance variables
     private String terrainName;
-    private String neededItem;
-    private OutputWindow outputWindow;
+    private Item neededItem;
+    private OutputSink outputWindow;
 
     /**
      * Sets the class member variables.
@@ -16,12 +28,22 @@ public class Terrain {
      * @param name The name of the zone.
      * @param item The item needed in order to cross the zone.
      */
-    public Terrain(String name, String item, OutputWindow outputWindow) {
+    public Terrain(String name, String item, OutputSink outputWindow) {
         terrainName = name;
-        neededItem = item.toLowerCase();
+        neededItem = Item.fromName(item.toLowerCase());
         this.outputWindow = outputWindow;
     }
 
+    /**
+     * Finds the shared terrain of a type. A terrain never changes, so every town with the same terrain can use it.
+     *
+     * @param terrainType The terrain type, from 0 (mountains) to 5 (marsh).
+     * @return The terrain.
+     */
+    public static Terrain ofType(int terrainType) {
+        return TERRAINS[terrainType];
+    }
+
     /**
      * Accessor method to get the name of the terrain.
      *
@@ -37,7 +59,7 @@ public class Terrain {
      * @return The needed item.
      */
     public String getNeededItem() {
-        return neededItem;
+        return neededItem.getName();
     }
 
     /**
@@ -60,6 +82,6 @@ public class Terrain {
      * @return A string representation of the terrain and needed item.
      */
     public String toString() {
-        return terrainName + " needs a(n) " + neededItem + " to cross.";
+        return terrainName + " needs a(n) " + neededItem.getName() + " to cross.";
     }
 }
@@ -0,0 +1,194 @@
+package treasurehunter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The Tournament class plays bot strategies against each other to find out which one wins most often.<p>
+ * Every strategy plays the same seeds, and a simulated game meets the same towns for the same seed whatever it does
+ * (common random numbers), so the win rates of two strategies are compared game by game. The luck of the towns then
+ * cancels out of the difference, and far fewer games are needed to tell two strategies apart.<p>
+ * Games are played in rounds of ROUND_GAMES seeds, spread over a fork-join pool. After each round, every pairing of two
+ * strategies that are still playing is checked: it is decided once its difference in win rate is more than Z_STOP
+ * standard errors from zero, or once the difference is known to within TIE_MARGIN either way. A strategy stops playing
+ * as soon as all of its pairings are decided, and the tournament ends when every strategy has stopped or played
+ * maxGames games.
+ */
+public class Tournament {
+    private static final int ROUND_GAMES = 1024;
+    private static final int GAMES_PER_TASK = 128;
+    // well past the usual 1.96, because the pairings are checked again after every round
+    private static final double Z_STOP = 3.0;
+    private static final double TIE_MARGIN = 0.005;
+    private static final double Z_95 = 1.96;
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final int maxTurns;
+    private final long baseSeed;
+    private final ForkJoinPool pool;
+    private final List<String> names;
+    private final List<DecisionPolicy> policies;
+
+    /**
+     * Sets up a tournament that runs on the common fork-join pool.
+     *
+     * @param strategies The strategies, by name.
+     * @param difficulty The difficulty every game is played at.
+     * @param maxTurns   The number of moves after which a game counts as given up.
+     * @param baseSeed   The seed of the first game.
+     */
+    public Tournament(Map<String, DecisionPolicy> strategies, Difficulty difficulty, int maxTurns, long baseSeed) {
+        this(strategies, difficulty, maxTurns, baseSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sets up a tournament that runs on the given pool.
+     *
+     * @param strategies The strategies, by name.
+     * @param difficulty The difficulty every game is played at.
+     * @param maxTurns   The number of moves after which a game counts as given up.
+     * @param baseSeed   The seed of the first game.
+     * @param pool       The pool the games are played on.
+     */
+    public Tournament(Map<String, DecisionPolicy> strategies, Difficulty difficulty, int maxTurns, long baseSeed,
+                      ForkJoinPool pool) {
+        this.difficulty = difficulty;
+        this.maxTurns = maxTurns;
+        this.baseSeed = baseSeed;
+        this.pool = pool;
+        names = new ArrayList<>(strategies.keySet());
+        policies = new ArrayList<>(strategies.values());
+    }
+
+    /**
+     * The bots that come with the game, by name.
+     *
+     * @return The strategies, in a fixed order.
+     */
+    public static Map<String, DecisionPolicy> standardStrategies() {
+        Map<String, DecisionPolicy> strategies = new LinkedHashMap<>();
+        strategies.put("greedy", new GreedyPolicy());
+        strategies.put("brawler", new BrawlerPolicy());
+        strategies.put("digger", new DiggerPolicy());
+        strategies.put("samurai", new SamuraiPolicy());
+        return strategies;
+    }
+
+    /**
+     * Plays the tournament.
+     *
+     * @param maxGames The most games any strategy plays.
+     * @return The results of every strategy and every pairing.
+     */
+    public TournamentResult run(long maxGames) {
+        int strategies = policies.size();
+        SimulationResult[] results = new SimulationResult[strategies];
+        for (int i = 0; i < strategies; i++) {
+            results[i] = new SimulationResult();
+        }
+        TournamentResult.Pairing[][] pairings = new TournamentResult.Pairing[strategies][strategies];
+        List<TournamentResult.Pairing> pairingList = new ArrayList<>();
+        for (int a = 0; a < strategies; a++) {
+            for (int b = a + 1; b < strategies; b++) {
+                pairings[a][b] = new TournamentResult.Pairing(names.get(a), names.get(b));
+                pairingList.add(pairings[a][b]);
+            }
+        }
+
+        boolean[] active = new boolean[strategies];
+        Arrays.fill(active, true);
+        long played = 0;
+        byte[][] outcomes = new byte[strategies][ROUND_GAMES];
+        int[][] turns = new int[strategies][ROUND_GAMES];
+        while (played < maxGames && anyActive(active)) {
+            int games = (int) Math.min(ROUND_GAMES, maxGames - played);
+            long firstSeed = baseSeed + played;
+            ParallelRange.forEach(pool, 0, games, GAMES_PER_TASK,
+                    (from, to) -> playRound(active, firstSeed, outcomes, turns, (int) from, (int) to));
+            for (int s = 0; s < strategies; s++) {
+                if (!active[s]) {
+                    continue;
+                }
+                for (int g = 0; g < games; g++) {
+                    results[s].record(SimulatedGame.Outcome.values()[outcomes[s][g]], turns[s][g]);
+                }
+            }
+            for (int a = 0; a < strategies; a++) {
+                for (int b = a + 1; b < strategies; b++) {
+                    if (active[a] && active[b] && !pairings[a][b].isDecided()) {
+                        recordPairs(pairings[a][b], outcomes[a], outcomes[b], games);
+                    }
+                }
+            }
+            played += games;
+
+            for (int s = 0; s < strategies; s++) {
+                boolean undecided = false;
+                for (int other = 0; other < strategies; other++) {
+                    if (other != s) {
+                        TournamentResult.Pairing pairing = s < other ? pairings[s][other] : pairings[other][s];
+                        undecided |= !pairing.isDecided() && active[other];
+                    }
+                }
+                active[s] &= undecided;
+            }
+        }
+        return new TournamentResult(difficulty, names, results, pairingList);
+    }
+
+    private static boolean anyActive(boolean[] active) {
+        for (boolean playing : active) {
+            if (playing) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void recordPairs(TournamentResult.Pairing pairing, byte[] first, byte[] second, int games) {
+        int won = SimulatedGame.Outcome.WON.ordinal();
+        for (int g = 0; g < games; g++) {
+            pairing.record((first[g] == won ? 1 : 0) - (second[g] == won ? 1 : 0));
+        }
+        pairing.decide(Z_STOP, TIE_MARGIN);
+    }
+
+    /**
+     * Works out the 95% confidence interval of a win rate, using the Wilson score interval.
+     *
+     * @param wins  The games won.
+     * @param games The games played.
+     * @return The lowest and highest win rate within the interval.
+     */
+    static double[] winRateInterval(long wins, long games) {
+        if (games == 0) {
+            return new double[]{0, 1};
+        }
+        double rate = (double) wins / games;
+        double z2 = Z_95 * Z_95;
+        double centre = (rate + z2 / (2 * games)) / (1 + z2 / games);
+        double halfWidth = Z_95 / (1 + z2 / games) * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games));
+        return new double[]{Math.max(0, centre - halfWidth), Math.min(1, centre + halfWidth)};
+    }
+
+    /**
+     * Plays a range of one round's seeds with every active strategy on one thread.
+     */
+    private void playRound(boolean[] active, long firstSeed, byte[][] outcomes, int[][] turns, int from, int to) {
+        for (int s = 0; s < policies.size(); s++) {
+            if (!active[s]) {
+                continue;
+            }
+            for (int g = from; g < to; g++) {
+                SimulatedGame game = new SimulatedGame(difficulty, policies.get(s), firstSeed + g);
+                outcomes[s][g] = (byte) game.play(maxTurns).ordinal();
+                turns[s][g] = game.getTurns();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package treasurehunter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The TournamentResult holds how every strategy of a Tournament did, and how each pairing of two strategies came out.
+ */
+public class TournamentResult {
+    /**
+     * A Pairing adds up the game-by-game difference in wins between two strategies played on the same seeds.
+     * Each game counts 1 if only the first strategy won it, -1 if only the second did, and 0 otherwise.
+     */
+    public static class Pairing {
+        // Instance variables
+        private final String first;
+        private final String second;
+        private long games;
+        private long sum;
+        private long sumOfSquares;
+        private boolean decided;
+        private boolean tie;
+
+        Pairing(String first, String second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        void record(int difference) {
+            games++;
+            sum += difference;
+            sumOfSquares += difference * difference;
+        }
+
+        /**
+         * Decides the pairing if the difference is clearly not zero, or clearly too small to matter.
+         *
+         * @param zStop     How many standard errors from zero the difference must be.
+         * @param tieMargin How small the uncertainty must be to call the pairing a tie.
+         */
+        void decide(double zStop, double tieMargin) {
+            double error = zStop * getStandardError();
+            if (games < 2) {
+                return;
+            }
+            if (Math.abs(getDifference()) > error) {
+                decided = true;
+                tie = false;
+            } else if (error < tieMargin) {
+                decided = true;
+                tie = true;
+            }
+        }
+
+        public String getFirst() {
+            return first;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public boolean isDecided() {
+            return decided;
+        }
+
+        /**
+         * Checks if the pairing was decided as a tie, with neither strategy clearly better.
+         *
+         * @return True for a tie.
+         */
+        public boolean isTie() {
+            return tie;
+        }
+
+        /**
+         * Accessor method to get how much more often the first strategy won than the second.
+         *
+         * @return The difference in win rate, from -1 to 1.
+         */
+        public double getDifference() {
+            return games == 0 ? 0 : (double) sum / games;
+        }
+
+        /**
+         * Accessor method to get the standard error of the difference in win rate.
+         *
+         * @return The standard error, or 1 until there are two games.
+         */
+        public double getStandardError() {
+            if (games < 2) {
+                return 1;
+            }
+            double mean = (double) sum / games;
+            double variance = (sumOfSquares - games * mean * mean) / (games - 1);
+            return Math.sqrt(Math.max(variance, 0) / games);
+        }
+
+        public String toString() {
+            double difference = getDifference() * 100;
+            double margin = 1.96 * getStandardError() * 100;
+            String verdict;
+            if (!decided) {
+                verdict = "undecided";
+            } else if (tie) {
+                verdict = "tie";
+            } else {
+                verdict = difference > 0 ? first + " is better" : second + " is better";
+            }
+            return String.format("%s vs %s: %+.2f%% +/- %.2f%% after %d games, %s",
+                    first, second, difference, margin, games, verdict);
+        }
+    }
+
+    // Instance variables
+    private final Difficulty difficulty;
+    private final List<String> names;
+    private final SimulationResult[] results;
+    private final List<Pairing> pairings;
+
+    /**
+     * @param difficulty The difficulty the tournament was played at.
+     * @param names      The strategies' names.
+     * @param results    How each strategy did, in the same order as the names.
+     * @param pairings   Every pairing of two strategies.
+     */
+    public TournamentResult(Difficulty difficulty, List<String> names, SimulationResult[] results, List<Pairing> pairings) {
+        this.difficulty = difficulty;
+        this.names = names;
+        this.results = results;
+        this.pairings = pairings;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public List<Pairing> getPairings() {
+        return pairings;
+    }
+
+    /**
+     * Accessor method to get how a strategy did.
+     *
+     * @param name The strategy's name.
+     * @return Its combined result, or null if there is no such strategy.
+     */
+    public SimulationResult getResult(String name) {
+        int index = names.indexOf(name);
+        return index < 0 ? null : results[index];
+    }
+
+    /**
+     * Lays out the strategies best first, each with its win rate and 95% confidence interval, then every pairing.
+     *
+     * @return The table, one line per strategy and pairing.
+     */
+    public String toTable() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> results[i].getWinRate()).reversed());
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-4s %-10s %9s %19s %9s %10s%n", "Rank", "Strategy", "Win rate", "95% interval", "Games", "Avg turns"));
+        int rank = 1;
+        for (int i : order) {
+            SimulationResult result = results[i];
+            double[] interval = Tournament.winRateInterval(result.getWins(), result.getGames());
+            table.append(String.format("%-4d %-10s %8.2f%% %8.2f%% - %6.2f%% %9d %10.1f%n", rank++, names.get(i),
+                    result.getWinRate() * 100, interval[0] * 100, interval[1] * 100, result.getGames(),
+                    result.getAverageTurnsToWin()));
+        }
+        for (Pairing pairing : pairings) {
+            table.append(pairing).append('\n');
+        }
+        return table.toString();
+    }
+}
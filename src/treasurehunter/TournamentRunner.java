@@ -0,0 +1,22 @@
+package treasurehunter;
+
+/**
+ * Plays the standard bot strategies against each other and prints the ranked table.
+ * Usage: java TournamentRunner [difficulty: e, n, h or s] [most games per strategy] [max turns per game] [seed]
+ */
+public class TournamentRunner {
+    public static void main(String[] args) {
+        RunnerArgs arguments = new RunnerArgs(args);
+        Difficulty difficulty = arguments.getDifficulty(0, Difficulty.NORMAL);
+        long maxGames = arguments.getLong(1, 1_000_000);
+        int maxTurns = arguments.getInt(2, 500);
+        long seed = arguments.getLong(3, System.nanoTime());
+
+        long start = System.nanoTime();
+        TournamentResult result = new Tournament(Tournament.standardStrategies(), difficulty, maxTurns, seed).run(maxGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(difficulty + ", seed " + seed);
+        System.out.print(result.toTable());
+        System.out.printf("Finished in %.2f seconds%n", seconds);
+    }
+}
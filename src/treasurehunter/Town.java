@@ -0,0 +1,336 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Town Class is where it all happens.
+ * The Town is designed to manage all the things a Hunter can do in town.
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ */
+
+public class Town {
+    // instance variables
+    private Hunter hunter;
+    private Shop shop;
+    private Terrain terrain;
+    private int terrainType;
+    private String printMessage;
+    private boolean toughTown;
+    private Treasure treasure;
+    private boolean searchedTown;
+    private SplittableRandom random;
+    private TownOdds odds;
+    private OutputSink outputWindow;
+    private GameEventListener eventListener;
+
+    /**
+     * The Town Constructor takes in a shop and the difficulty, but leaves the hunter as null until one arrives.
+     *
+     * @param shop       The town's shoppe.
+     * @param difficulty The difficulty, whose odds and toughness decide how the town is rolled.
+     * @param random     The game's random source, used for every roll made in this town.
+     */
+    public Town(Shop shop, Difficulty difficulty, SplittableRandom random, OutputSink outputWindow) {
+        this(shop, difficulty.getTownOdds().rollTerrainType(random), difficulty.getTownOdds().rollTreasure(random),
+                // higher toughness = more likely to be a tough town
+                random.nextDouble() < difficulty.getToughness(), difficulty.getTownOdds(), random, outputWindow);
+    }
+
+    /**
+     * Creates a town whose terrain, treasure and toughness are already known, such as a town being replayed.
+     *
+     * @param shop        The town's shoppe.
+     * @param terrainType Which of the six terrains surrounds the town.
+     * @param treasure    The treasure hidden in the town.
+     * @param toughTown   Whether the town is a tough town.
+     * @param odds        The odds of the brawls and digs in this town.
+     * @param random      The game's random source, used for every roll made in this town.
+     */
+    public Town(Shop shop, int terrainType, Treasure treasure, boolean toughTown, TownOdds odds, SplittableRandom random,
+                OutputSink outputWindow) {
+        this.shop = shop;
+        this.odds = odds;
+        this.random = random;
+        this.outputWindow = outputWindow;
+        this.terrainType = terrainType;
+        this.terrain = Terrain.ofType(terrainType);
+        this.treasure = treasure;
+        this.toughTown = toughTown;
+
+        // the hunter gets set using the hunterArrives method, which
+        // gets called from a client class
+        hunter = null;
+
+        printMessage = "";
+        eventListener = GameEventListener.NONE;
+    }
+
+    public String getLatestNews() {
+        return printMessage;
+    }
+
+    /**
+     * Accessor method to get the terrain surrounding the town.
+     *
+     * @return The town's terrain.
+     */
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Accessor method to get which of the six terrains surrounds the town.
+     *
+     * @return The terrain type, from 0 (mountains) to 5 (marsh).
+     */
+    public int getTerrainType() {
+        return terrainType;
+    }
+
+    public boolean isToughTown() {
+        return toughTown;
+    }
+
+    /**
+     * Sets who is told about everything that happens in this town.
+     *
+     * @param eventListener The listener for the town's events.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Accessor method to check if the town's treasure has already been searched for.
+     *
+     * @return True if the town has been searched.
+     */
+    public boolean isSearched() {
+        return searchedTown;
+    }
+
+    /**
+     * Marks whether the town's treasure has already been searched for, such as when a saved game is loaded.
+     *
+     * @param searchedTown True if the town has been searched.
+     */
+    public void setSearched(boolean searchedTown) {
+        this.searchedTown = searchedTown;
+    }
+
+    /**
+     * Assigns an object to the Hunter in town.
+     *
+     * @param hunter The arriving Hunter.
+     */
+    public void hunterArrives(Hunter hunter) {
+        this.hunter = hunter;
+        printMessage = "Welcome to town, " + hunter.getHunterName() + ".";
+
+        if (toughTown) {
+            printMessage += "\nIt's pretty rough around here, so watch yourself.";
+        } else {
+            printMessage += "\nWe're just a sleepy little town with mild mannered folk.";
+        }
+        eventListener.onEvent(GameEvent.TOWN_ENTERED, terrainType, treasure.ordinal(), toughTown ? 1 : 0);
+    }
+
+    /**
+     * Handles the action of the Hunter leaving the town.
+     *
+     * @return true if the Hunter was able to leave town.
+     */
+    public boolean leaveTown(boolean easyMode) {
+        FlightEvents.TownAction event = beginAction("leave town");
+        boolean canLeaveTown = terrain.canCrossTerrain(hunter);
+        if (canLeaveTown) {
+            String item = terrain.getNeededItem();
+            printMessage = "You used your " + item + " to cross the " + terrain.getTerrainName() + ".";
+            if (checkItemBreak() && !easyMode) {
+                hunter.removeItemFromKit(item);
+                printMessage += "\nUnfortunately, you lost your " + item + ".";
+                hunter.getMetrics().count(Metrics.Counter.ITEMS_BROKEN);
+            }
+
+            hunter.getMetrics().count(Metrics.Counter.TOWN_MOVES);
+            eventListener.onEvent(GameEvent.LEFT_TOWN, 1, 0, 0);
+            event.commit(hunter, "crossed");
+            return true;
+        }
+
+        printMessage = "You can't leave town, " + hunter.getHunterName() + ". You don't have a " + terrain.getNeededItem() + ".";
+        hunter.getMetrics().count(Metrics.Counter.TOWN_MOVES_BLOCKED);
+        eventListener.onEvent(GameEvent.LEFT_TOWN, 0, 0, 0);
+        event.commit(hunter, "blocked");
+        return false;
+    }
+
+    /**
+     * Handles calling the enter method on shop whenever the user wants to access the shop.
+     *
+     * @param choice If the user wants to buy or sell items at the shop.
+     * @param input  Where the user's answers to the shopkeeper are read from.
+     */
+    public void enterShop(String choice, CommandReader input) {
+        shop.enter(hunter, choice, input);
+        printMessage = "You left the shop." + "\n";
+    }
+
+    /**
+     * Handles trading at the shop without any prompts, for games played by a policy.
+     *
+     * @param choice If the hunter wants to buy or sell items at the shop.
+     * @param item   The item being bought or sold.
+     */
+    public void tradeAtShop(String choice, String item) {
+        shop.trade(hunter, choice, item);
+        printMessage = "You left the shop." + "\n";
+    }
+
+    /**
+     * Gives the hunter a chance to fight for some gold.<p>
+     * The chances of finding a fight and winning the gold are based on the toughness of the town.<p>
+     * The tougher the town, the easier it is to find a fight, and the harder it is to win one.
+     */
+    public void lookForTrouble() {
+        FlightEvents.TownAction event = beginAction("look for trouble");
+        String outcome;
+        int goldDiff = odds.rollBrawl(toughTown, random);
+        if (goldDiff == 0) {
+            outcome = "no trouble";
+            printMessage = "You couldn't find any trouble";
+            hunter.getMetrics().count(Metrics.Counter.NO_TROUBLE_FOUND);
+            eventListener.onEvent(GameEvent.LOOKED_FOR_TROUBLE, 0, 0, 0);
+        } else {
+            printMessage = "You want trouble, stranger!  You got it!\nOof! Umph! Ow!\n";
+            hunter.getMetrics().count(Metrics.Counter.BRAWLS);
+            if (hunter.hasItemInKit(Item.SWORD)) {
+                goldDiff = Math.abs(goldDiff);
+                printMessage += "the brawler, seeing your sword, realizes he picked a losing fight and gives you his gold";
+                hunter.getMetrics().count(Metrics.Counter.BRAWLS_WON);
+                eventListener.onEvent(GameEvent.LOOKED_FOR_TROUBLE, 1, goldDiff, 0);
+                hunter.changeGold(goldDiff);
+                outcome = "won with sword";
+            } else if (goldDiff > 0) {
+                printMessage +=  "Okay, stranger! You proved yer mettle. Here, take my gold.";
+                printMessage += "\nYou won the brawl and receive " + goldDiff + " gold.";
+                hunter.getMetrics().count(Metrics.Counter.BRAWLS_WON);
+                eventListener.onEvent(GameEvent.LOOKED_FOR_TROUBLE, 1, goldDiff, 0);
+                hunter.changeGold(goldDiff);
+                outcome = "won";
+            } else {
+                printMessage += "That'll teach you to go lookin' fer trouble in MY town! Now pay up!";
+                printMessage += "\nYou lost the brawl and pay " + -goldDiff + " gold.";
+                hunter.getMetrics().count(Metrics.Counter.BRAWLS_LOST);
+                eventListener.onEvent(GameEvent.LOOKED_FOR_TROUBLE, 1, goldDiff, 0);
+                hunter.changeGold(goldDiff);
+                outcome = "lost";
+            }
+        }
+        event.commit(hunter, outcome);
+    }
+
+    public String toString() {
+        return "This nice little town is surrounded by " + terrain.getTerrainName() + ".";
+    }
+
+    /**
+     * Determines whether a used item has broken.
+     *
+     * @return true if the item broke.
+     */
+    private boolean checkItemBreak() {
+        double rand = random.nextDouble();
+        return (rand < 0.5);
+    }
+
+    public boolean digForGold(boolean dugOnce) {
+        FlightEvents.TownAction event = beginAction("dig for gold");
+        if (!dugOnce) {
+            if (hunter.hasItemInKit(Item.SHOVEL)) {
+                hunter.getMetrics().count(Metrics.Counter.DIGS);
+                int gold = odds.rollDig(random);
+                if (gold > 0) {
+                    printMessage = "You dug up " + gold + " gold!";
+                    hunter.getMetrics().count(Metrics.Counter.DIGS_STRUCK_GOLD);
+                    eventListener.onEvent(GameEvent.DUG_FOR_GOLD, 1, gold, 0);
+                    hunter.changeGold(gold);
+                    event.commit(hunter, "struck gold");
+                    return true;
+                } else {
+                    printMessage = "You dug but only found dirt!";
+                    eventListener.onEvent(GameEvent.DUG_FOR_GOLD, 1, 0, 0);
+                    event.commit(hunter, "dirt");
+                    return true;
+                }
+            } else {
+                printMessage = "You can't dig for gold without a shovel!";
+                eventListener.onEvent(GameEvent.DUG_FOR_GOLD, 0, 0, 0);
+                event.commit(hunter, "no shovel");
+                return false;
+            }
+        } else {
+            printMessage = "You already dug for gold in this town.";
+            eventListener.onEvent(GameEvent.DUG_FOR_GOLD, 0, 0, 0);
+            event.commit(hunter, "already dug");
+            return false;
+        }
+    }
+
+    /**
+     * Accessor method to get the treasure hidden in this town.
+     *
+     * @return The name of the treasure.
+     */
+    public String getTreasure() {
+        return treasure.getName();
+    }
+
+    public Treasure getTreasureType() {
+        return treasure;
+    }
+
+    public void huntForTreasure() {
+        FlightEvents.TownAction event = beginAction("hunt for treasure");
+        String outcome;
+        hunter.getMetrics().count(Metrics.Counter.TREASURE_HUNTS);
+        if (searchedTown) {
+            outcome = "already searched";
+            printMessage = "You have already searched this town.";
+            eventListener.onEvent(GameEvent.HUNTED_FOR_TREASURE, 0, treasure.ordinal(), 0);
+        } else {
+            if (treasure == Treasure.DUST) {
+                outcome = "dust";
+                printMessage = "You found dust";
+                eventListener.onEvent(GameEvent.HUNTED_FOR_TREASURE, 0, treasure.ordinal(), 0);
+            } else {
+                if (hunter.hasTreasure(treasure)) {
+                    outcome = "already collected";
+                    printMessage = "You already collected " + treasure.getName();
+                } else {
+                    outcome = "found";
+                    printMessage = "You found a " + treasure.getName() + "!";
+                    hunter.addTreasure(treasure);
+                    hunter.getMetrics().count(Metrics.Counter.TREASURES_FOUND);
+                }
+                searchedTown = true;
+                eventListener.onEvent(GameEvent.HUNTED_FOR_TREASURE, 1, treasure.ordinal(), 0);
+            }
+        }
+        event.commit(hunter, outcome);
+    }
+
+    /**
+     * Starts the flight recorder event for something the hunter does in this town.
+     *
+     * @param action What the hunter is doing.
+     * @return The event, to be committed once the action is done.
+     */
+    private FlightEvents.TownAction beginAction(String action) {
+        FlightEvents.TownAction event = new FlightEvents.TownAction();
+        event.action = action;
+        event.toughTown = toughTown;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,137 @@
+package treasurehunter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The TownOdds class holds the chances behind every roll made in a town: its terrain and treasure, what happens when
+ * the hunter looks for trouble, and what digging turns up. Each roll is one AliasSampler draw.<p>
+ * Every Difficulty has its own odds. A brawl is rolled as one outcome out of no trouble, a win of each amount of gold,
+ * and a loss of each amount; a dig as one outcome out of dirt and each amount of gold.
+ */
+public class TownOdds {
+    /** The number of terrain types a town can be surrounded by. */
+    public static final int TERRAINS = 6;
+
+    /** The odds the game has always used. */
+    public static final TownOdds STANDARD = new TownOdds(
+            new double[]{1, 1, 1, 1, 1, 1},
+            new double[]{0.33, 0.33, 0.33, 0.01},
+            0.66, 0.34, 0.33, 0.67,
+            uniformWeights(10),
+            0.5, uniformWeights(20));
+
+    // Instance variables
+    private final AliasSampler terrains;
+    private final AliasSampler treasures;
+    private final AliasSampler toughBrawls;
+    private final AliasSampler quietBrawls;
+    private final AliasSampler digs;
+    private final int maxBrawlGold;
+
+    /**
+     * Sets the odds of a difficulty.
+     *
+     * @param terrainWeights     The weight of each terrain type, from mountains to marsh.
+     * @param treasureWeights    The weight of each treasure, in Treasure order.
+     * @param toughTroubleChance The chance of finding a brawl in a tough town.
+     * @param toughWinChance     The chance of winning a brawl in a tough town.
+     * @param quietTroubleChance The chance of finding a brawl in a quiet town.
+     * @param quietWinChance     The chance of winning a brawl in a quiet town.
+     * @param brawlGoldWeights   The weight of each amount of gold won or lost in a brawl, starting from 1 gold.
+     * @param digChance          The chance of a dig turning up gold.
+     * @param dugGoldWeights     The weight of each amount of gold a dig turns up, starting from 1 gold.
+     */
+    public TownOdds(double[] terrainWeights, double[] treasureWeights,
+                    double toughTroubleChance, double toughWinChance, double quietTroubleChance, double quietWinChance,
+                    double[] brawlGoldWeights, double digChance, double[] dugGoldWeights) {
+        if (terrainWeights.length != TERRAINS || treasureWeights.length != Treasure.VALUES.length) {
+            throw new IllegalArgumentException("There must be a weight for every terrain and every treasure");
+        }
+        terrains = new AliasSampler(terrainWeights);
+        treasures = new AliasSampler(treasureWeights);
+        maxBrawlGold = brawlGoldWeights.length;
+        toughBrawls = new AliasSampler(brawlWeights(toughTroubleChance, toughWinChance, brawlGoldWeights));
+        quietBrawls = new AliasSampler(brawlWeights(quietTroubleChance, quietWinChance, brawlGoldWeights));
+        digs = new AliasSampler(outcomeWeights(1 - digChance, digChance, dugGoldWeights));
+    }
+
+    /**
+     * Rolls the terrain around a new town.
+     *
+     * @param random The random source to roll with.
+     * @return The terrain type, from 0 (mountains) to 5 (marsh).
+     */
+    public int rollTerrainType(SplittableRandom random) {
+        return terrains.sample(random);
+    }
+
+    /**
+     * Rolls the treasure hidden in a new town.
+     *
+     * @param random The random source to roll with.
+     * @return The treasure.
+     */
+    public Treasure rollTreasure(SplittableRandom random) {
+        return Treasure.VALUES[treasures.sample(random)];
+    }
+
+    /**
+     * Rolls what happens when the hunter looks for trouble.
+     *
+     * @param toughTown Whether the town is a tough town.
+     * @param random    The random source to roll with.
+     * @return 0 if no trouble was found, otherwise the gold won, or minus the gold lost.
+     */
+    public int rollBrawl(boolean toughTown, SplittableRandom random) {
+        int outcome = (toughTown ? toughBrawls : quietBrawls).sample(random);
+        return outcome <= maxBrawlGold ? outcome : maxBrawlGold - outcome;
+    }
+
+    /**
+     * Rolls what a dig turns up.
+     *
+     * @param random The random source to roll with.
+     * @return The gold dug up, or 0 for only dirt.
+     */
+    public int rollDig(SplittableRandom random) {
+        return digs.sample(random);
+    }
+
+    /**
+     * Lays out the weights of a brawl: no trouble first, then each amount of gold won, then each amount lost.
+     */
+    private static double[] brawlWeights(double troubleChance, double winChance, double[] goldWeights) {
+        double[] won = outcomeWeights(1 - troubleChance, troubleChance * winChance, goldWeights);
+        double[] weights = new double[1 + 2 * goldWeights.length];
+        System.arraycopy(won, 0, weights, 0, won.length);
+        double[] lost = outcomeWeights(0, troubleChance * (1 - winChance), goldWeights);
+        System.arraycopy(lost, 1, weights, won.length, goldWeights.length);
+        return weights;
+    }
+
+    /**
+     * Lays out the weights of an outcome that is either nothing or some amount of gold.
+     *
+     * @param nothingChance The chance of nothing, which becomes outcome 0.
+     * @param goldChance    The chance of any gold, spread over outcomes 1 and up by the gold weights.
+     */
+    private static double[] outcomeWeights(double nothingChance, double goldChance, double[] goldWeights) {
+        double total = 0;
+        for (double weight : goldWeights) {
+            total += weight;
+        }
+        double[] weights = new double[1 + goldWeights.length];
+        weights[0] = nothingChance;
+        for (int i = 0; i < goldWeights.length; i++) {
+            weights[i + 1] = goldChance * goldWeights[i] / total;
+        }
+        return weights;
+    }
+
+    private static double[] uniformWeights(int amounts) {
+        double[] weights = new double[amounts];
+        Arrays.fill(weights, 1);
+        return weights;
+    }
+}
@@ -0,0 +1,69 @@
+package treasurehunter;
+
+/**
+ * The Treasure enum lists what can be found when hunting in a town.
+ * Dust can be found but not collected; the other three each own one bit of a hunter's treasure collection.
+ */
+public enum Treasure {
+    CROWN("crown"),
+    TROPHY("trophy"),
+    GEM("gem"),
+    DUST("dust");
+
+    // values() makes a new array every call, so the game keeps one copy
+    static final Treasure[] VALUES = values();
+
+    /** The bits of a collection holding the crown, the trophy and the gem. */
+    public static final int ALL_COLLECTIBLE = CROWN.bit | TROPHY.bit | GEM.bit;
+
+    private final String name;
+    private final int bit;
+
+    Treasure(String name) {
+        this.name = name;
+        bit = 1 << ordinal();
+    }
+
+    /**
+     * Finds the treasure with the given name.
+     *
+     * @param name The lowercase name of the treasure.
+     * @return The treasure, or null if there is no treasure with that name.
+     */
+    public static Treasure fromName(String name) {
+        switch (name) {
+            case "crown":
+                return CROWN;
+            case "trophy":
+                return TROPHY;
+            case "gem":
+                return GEM;
+            case "dust":
+                return DUST;
+            default:
+                return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Accessor method to get the bit this treasure uses in a collection.
+     *
+     * @return A number with only this treasure's bit set.
+     */
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * Checks if this treasure counts towards winning the game.
+     *
+     * @return False for dust, true otherwise.
+     */
+    public boolean isCollectible() {
+        return this != DUST;
+    }
+}
@@ -0,0 +1,489 @@
+package treasurehunter;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+public class TreasureHunter {
+    // where each field is kept in a SnapshotStore slot; the first four bytes belong to the store
+    private static final int SNAPSHOT_DIFFICULTY = 4;
+    private static final int SNAPSHOT_FLAGS = 5;
+    private static final int SNAPSHOT_TOWN_NUMBER = 6;
+    private static final int SNAPSHOT_GOLD = 8;
+    private static final int SNAPSHOT_KIT = 12;
+    private static final int SNAPSHOT_TREASURES = 13;
+    private static final int SNAPSHOT_TURNS = 16;
+    private static final int SNAPSHOT_WORLD_SEED = 20;
+    private static final int SNAPSHOT_NAME_LENGTH = 28;
+    private static final int SNAPSHOT_NAME = 29;
+    private static final int SNAPSHOT_NAME_MAX = SnapshotStore.SLOT_SIZE - SNAPSHOT_NAME;
+    private static final int FLAG_DUG_ONCE = 1;
+    private static final int FLAG_SEARCHED_TOWN = 4;
+    private static final int FLAG_SAMURAI = 8;
+    private static final int FLAG_FIXED_ROUTE = 16;
+    private static final String MENU = "(B)uy something at the shop.\n"
+            + "(S)ell something at the shop.\n"
+            + "(M)ove on to a different town.\n"
+            + "(L)ook for trouble!\n"
+            + "(D)ig for gold!\n"
+            + "(H)unt for treasure!\n"
+            + "Give up the hunt and e(X)it.\n"
+            + "\nWhat's your next move? ";
+
+    private final OutputSink outputWindow;
+    private final SplittableRandom random;
+    private final CommandReader input;
+    // the main screen, kept between turns so only what changed is redrawn
+    private final GameScreen screen = new GameScreen();
+    // what the screen was last set from; the regions are only rebuilt when these change
+    private String screenNews;
+    private String screenStatus;
+    private Town screenTown;
+
+    private World world;
+    private int townNumber;
+    private Town currentTown;
+    private Hunter hunter;
+    private Difficulty difficulty;
+    // set once the player has been asked, so a server can find their saved game before the game starts
+    private String hunterName;
+    private boolean dugOnce;
+    // set when the world comes from a seed chosen ahead of time; the hunter then starts in town 0 and takes fixed roads
+    private Long worldSeed;
+    private boolean fixedRoute;
+    private int turns;
+    private GameEventListener eventListener = GameEventListener.NONE;
+    private SnapshotStore snapshotStore;
+    private int snapshotSlot;
+    private Leaderboard leaderboard;
+    private SpectatorFeed spectatorFeed;
+
+    public TreasureHunter(OutputSink outputWindow) {
+        this(outputWindow, new SplittableRandom(), StreamInput.console());
+    }
+
+    /**
+     * Creates a game whose towns are all rolled from the given random source,
+     * so a game started from the same seed can be replayed exactly.
+     *
+     * @param outputWindow The window the game is shown in.
+     * @param random       The random source for the whole game.
+     * @param input        Where the player's moves are read from. Each game needs its own.
+     */
+    public TreasureHunter(OutputSink outputWindow, SplittableRandom random, InputSource input) {
+        this.outputWindow = outputWindow;
+        this.random = random;
+        this.input = new CommandReader(input);
+        currentTown = null;
+        hunter = null;
+        difficulty = Difficulty.NORMAL;
+        dugOnce = false;
+    }
+
+    /**
+     * Sets who is told about everything that happens in the game, such as an EventLogWriter recording it.
+     *
+     * @param eventListener The listener for the game's events.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Saves the game into a slot of a snapshot store after every turn, so it can be picked up again later.
+     * If the slot already holds a saved game, the player is offered to resume it.
+     *
+     * @param snapshotStore The store to save into.
+     * @param snapshotSlot  The slot this game uses.
+     */
+    public void setSnapshotStore(SnapshotStore snapshotStore, int snapshotSlot) {
+        this.snapshotStore = snapshotStore;
+        this.snapshotSlot = snapshotSlot;
+    }
+
+    /**
+     * Hands the game to a leaderboard if the hunter wins it.
+     *
+     * @param leaderboard The leaderboard.
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Plays a new game on the world rolled from a chosen seed, such as one found by SeedSearch. The hunter starts in
+     * town 0, and moving on always leads to the town with the next number, so the towns come in the same order as
+     * in a SimulatedGame with that seed. A saved game that is resumed keeps its own world.
+     *
+     * @param worldSeed The seed the world's towns are rolled from.
+     */
+    public void setWorldSeed(long worldSeed) {
+        this.worldSeed = worldSeed;
+    }
+
+    /**
+     * Publishes a snapshot of the game to a feed when the hunt starts and after every turn, for spectators to watch.
+     *
+     * @param spectatorFeed The feed, or null to stop publishing.
+     */
+    public void setSpectatorFeed(SpectatorFeed spectatorFeed) {
+        this.spectatorFeed = spectatorFeed;
+    }
+
+    /**
+     * Greets the player and asks for the hunter's name ahead of the game, such as for a server that keeps each player's
+     * saved game under their name. The game then starts without asking again.
+     *
+     * @return The name, in lowercase, or "x" if the player has gone away.
+     */
+    public String askHunterName() {
+        outputWindow.addTextToWindow("Welcome to TREASURE HUNTER!\n", Color.blue);
+        outputWindow.addTextToWindow("Going hunting for the big treasure, eh?\n", Color.blue);
+        outputWindow.addTextToWindow("What's your name, Hunter? ", Color.black);
+        hunterName = readText();
+        return hunterName;
+    }
+
+    public void play() {
+        if (!resumeSavedGame()) {
+            welcomePlayer();
+            enterTown(townNumber);
+        }
+        MetricsRecorder metrics = Metrics.openRecorder();
+        hunter.setMetrics(metrics);
+        metrics.gameStarted(hunter.getGold());
+        showMenu();
+        eventListener.onEvent(GameEvent.GAME_ENDED, -1, turns, 0);
+        metrics.gameEnded(hunter.getGold());
+        Metrics.closeRecorder(metrics);
+        if (leaderboard != null && hunter.hasAllTreasures()) {
+            leaderboard.submit(new LeaderboardEntry(hunter.getHunterName(), difficulty, turns, hunter.getGold(),
+                    System.currentTimeMillis()));
+        }
+        if (snapshotStore != null && (hunter.hasAllTreasures() || hunter.isBankrupt())) {
+            // a finished game cannot be resumed
+            snapshotStore.clear(snapshotSlot);
+        }
+        outputWindow.flush();
+    }
+
+    /**
+     * Offers to resume the game saved in the snapshot slot, if there is one.
+     *
+     * @return True if a saved game was loaded.
+     */
+    private boolean resumeSavedGame() {
+        if (snapshotStore == null || !snapshotStore.hasSnapshot(snapshotSlot)) {
+            return false;
+        }
+        if (hunterName == null) {
+            outputWindow.addTextToWindow("Welcome back to TREASURE HUNTER!\n", Color.blue);
+        }
+        outputWindow.addTextToWindow("Resume your saved hunt (y/n)? ", Color.black);
+        if (!readLine().equals("y")) {
+            return false;
+        }
+        return snapshotStore.load(snapshotSlot, this);
+    }
+
+    /**
+     * Writes the game's state into a snapshot slot, leaving the slot's first four bytes alone.
+     * Towns are made again from the world's seed, so only the hunter's town is saved; other searched towns are not.
+     *
+     * @param slot The slot, as a buffer of SnapshotStore.SLOT_SIZE bytes.
+     */
+    void saveSnapshot(ByteBuffer slot) {
+        int flags = 0;
+        if (dugOnce) {
+            flags |= FLAG_DUG_ONCE;
+        }
+        if (currentTown.isSearched()) {
+            flags |= FLAG_SEARCHED_TOWN;
+        }
+        if (hunter.getSamurai()) {
+            flags |= FLAG_SAMURAI;
+        }
+        if (fixedRoute) {
+            flags |= FLAG_FIXED_ROUTE;
+        }
+
+        slot.put(SNAPSHOT_DIFFICULTY, (byte) difficulty.ordinal());
+        slot.put(SNAPSHOT_FLAGS, (byte) flags);
+        slot.putShort(SNAPSHOT_TOWN_NUMBER, (short) townNumber);
+        slot.putInt(SNAPSHOT_GOLD, hunter.getGold());
+        slot.put(SNAPSHOT_KIT, (byte) hunter.getKitBits());
+        slot.put(SNAPSHOT_TREASURES, (byte) hunter.getTreasureBits());
+        slot.putInt(SNAPSHOT_TURNS, turns);
+        slot.putLong(SNAPSHOT_WORLD_SEED, world.getSeed());
+
+        byte[] name = hunter.getHunterName().getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(name.length, SNAPSHOT_NAME_MAX);
+        slot.put(SNAPSHOT_NAME_LENGTH, (byte) nameLength);
+        slot.put(SNAPSHOT_NAME, name, 0, nameLength);
+    }
+
+    /**
+     * Checks that every number in a snapshot slot can be loaded: the difficulty, the town and the treasures must be
+     * ones the game has, and the name must fit in the slot. A slot that fails this was not written by saveSnapshot,
+     * so it is treated like a slot that was torn while being saved.
+     *
+     * @param slot The slot, as a buffer of SnapshotStore.SLOT_SIZE bytes.
+     * @return True if the slot can be loaded.
+     */
+    static boolean isLoadableSnapshot(ByteBuffer slot) {
+        int difficultyOrdinal = slot.get(SNAPSHOT_DIFFICULTY);
+        int nameLength = slot.get(SNAPSHOT_NAME_LENGTH);
+        return difficultyOrdinal >= 0 && difficultyOrdinal < Difficulty.values().length
+                && (slot.getShort(SNAPSHOT_TOWN_NUMBER) & 0xFFFF) < World.TOWNS
+                && (slot.get(SNAPSHOT_TREASURES) & ~Treasure.ALL_COLLECTIBLE) == 0
+                && nameLength >= 0 && nameLength <= SNAPSHOT_NAME_MAX;
+    }
+
+    /**
+     * Replaces the game's state with the one in a snapshot slot.
+     *
+     * @param slot The slot, as a buffer of SnapshotStore.SLOT_SIZE bytes.
+     */
+    void loadSnapshot(ByteBuffer slot) {
+        int flags = slot.get(SNAPSHOT_FLAGS);
+
+        difficulty = Difficulty.values()[slot.get(SNAPSHOT_DIFFICULTY)];
+        dugOnce = (flags & FLAG_DUG_ONCE) != 0;
+        fixedRoute = (flags & FLAG_FIXED_ROUTE) != 0;
+        turns = slot.getInt(SNAPSHOT_TURNS);
+        hunter = new Hunter(snapshotHunterName(slot), slot.getInt(SNAPSHOT_GOLD), (flags & FLAG_SAMURAI) != 0, outputWindow);
+        hunter.restoreInventory(slot.get(SNAPSHOT_KIT) & 0xFF, slot.get(SNAPSHOT_TREASURES) & 0xFF);
+        hunter.setEventListener(eventListener);
+
+        announceResumedHunter();
+
+        createWorld(slot.getLong(SNAPSHOT_WORLD_SEED));
+        enterTown(slot.getShort(SNAPSHOT_TOWN_NUMBER) & 0xFFFF);
+        currentTown.setSearched((flags & FLAG_SEARCHED_TOWN) != 0);
+        if (currentTown.isSearched()) {
+            eventListener.onEvent(GameEvent.HUNTED_FOR_TREASURE, 1, currentTown.getTreasureType().ordinal(), 0);
+        }
+    }
+
+    /**
+     * Tells the event listener about a hunter loaded from a snapshot, as if the game had started with what was saved,
+     * so a replay of the game's log starts from the same hunter.
+     */
+    private void announceResumedHunter() {
+        eventListener.onEvent(GameEvent.GAME_STARTED, difficulty.ordinal(), hunter.getGold(), hunter.getSamurai() ? 1 : 0);
+        for (Item item : Item.VALUES) {
+            if (hunter.hasItemInKit(item)) {
+                eventListener.onEvent(GameEvent.ITEM_ADDED, item.ordinal(), 0, 0);
+            }
+        }
+        for (Treasure treasure : Treasure.VALUES) {
+            if (treasure.isCollectible() && hunter.hasTreasure(treasure)) {
+                eventListener.onEvent(GameEvent.TREASURE_FOUND, treasure.ordinal(), 0, 0);
+            }
+        }
+        if (dugOnce) {
+            eventListener.onEvent(GameEvent.DUG_FOR_GOLD, 1, 0, 0);
+        }
+    }
+
+    /**
+     * Reads the hunter's name out of a snapshot slot without loading the game.
+     *
+     * @param slot The slot, as a buffer of SnapshotStore.SLOT_SIZE bytes.
+     * @return The name.
+     */
+    static String snapshotHunterName(ByteBuffer slot) {
+        byte[] name = new byte[slot.get(SNAPSHOT_NAME_LENGTH)];
+        slot.get(SNAPSHOT_NAME, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private void welcomePlayer() {
+        String name = hunterName != null ? hunterName : askHunterName();
+
+        outputWindow.addTextToWindow("\nDifficulty (E)asy/(N)ormal/(H)ard: ", Color.black);
+        String mode = readLine();
+        difficulty = Difficulty.fromMode(mode);
+        hunter = new Hunter(name, difficulty.getStartingGold(), difficulty.isSamurai(), outputWindow);
+        eventListener.onEvent(GameEvent.GAME_STARTED, difficulty.ordinal(), difficulty.getStartingGold(), difficulty.isSamurai() ? 1 : 0);
+        hunter.setEventListener(eventListener);
+        if (difficulty == Difficulty.TEST) {
+            initializeTestInventory();
+        }
+        if (worldSeed != null) {
+            createWorld(worldSeed);
+            townNumber = 0;
+            fixedRoute = true;
+        } else {
+            createWorld(random.nextLong());
+            townNumber = random.nextInt(World.TOWNS);
+        }
+    }
+
+    private void createWorld(long seed) {
+        world = new World(seed, difficulty, random, outputWindow);
+        world.setEventListener(eventListener);
+    }
+
+    private void initializeTestInventory() {
+        // Initialize test inventory
+        hunter.buyItem("water", 2);
+        hunter.buyItem("rope", 4);
+        hunter.buyItem("machete", 6);
+        hunter.buyItem("horse", 12);
+        hunter.buyItem("boat", 20);
+        hunter.buyItem("boots", 20);
+        hunter.buyItem("shovel", 8);
+    }
+
+    /**
+     * Moves the hunter into a town of the world.
+     *
+     * @param townNumber The town's number in the world.
+     */
+    private void enterTown(int townNumber) {
+        this.townNumber = townNumber;
+        currentTown = world.enterTown(townNumber);
+        currentTown.hunterArrives(hunter);
+    }
+
+    private void showMenu() {
+        String choice = "";
+        publishSnapshot();
+
+        while (!choice.equals("x")) {
+            if (hunter.hasAllTreasures()) {
+                outputWindow.clear();
+                outputWindow.addTextToWindow("Congratulations, you have found the last of the three treasures, you win!\n", Color.green);
+                break;
+            }
+            if (hunter.isBankrupt()) {
+                outputWindow.clear();
+                outputWindow.addTextToWindow(currentTown.getLatestNews() + "\n", Color.blue);
+                outputWindow.addTextToWindow("You ran out of gold! Game over!\n", Color.red);
+                break;
+            }
+
+            FlightEvents.Turn turnEvent = new FlightEvents.Turn();
+            turnEvent.begin();
+            updateScreen();
+            outputWindow.showScreen(screen);
+            choice = readLine();
+            turns++;
+            long start = hunter.getMetrics().startTurn();
+            processChoice(choice);
+            hunter.getMetrics().stopTurn(choice, start);
+            if (snapshotStore != null) {
+                snapshotStore.save(snapshotSlot, this);
+            }
+            publishSnapshot();
+            turnEvent.turn = turns;
+            turnEvent.choice = choice;
+            turnEvent.commit(hunter, hunter.isBankrupt() ? "bankrupt" : hunter.hasAllTreasures() ? "won" : "playing");
+        }
+    }
+
+    /**
+     * Sets the regions of the screen that changed since the last turn. The news and the hunter's status are cached
+     * strings that only change when something happens, so a turn where nothing changed builds no strings at all.
+     */
+    private void updateScreen() {
+        String news = currentTown.getLatestNews();
+        if (news != screenNews) {
+            screenNews = news;
+            screen.set(GameScreen.Region.NEWS, news + "\n", Color.blue);
+        }
+        String status = hunter.toString();
+        if (status != screenStatus) {
+            screenStatus = status;
+            screen.set(GameScreen.Region.STATUS, "***\n" + status + "\n", Color.black);
+        }
+        if (currentTown != screenTown) {
+            screenTown = currentTown;
+            screen.set(GameScreen.Region.TOWN, currentTown.toString() + "\n", Color.black);
+        }
+        screen.set(GameScreen.Region.MENU, MENU, Color.black);
+    }
+
+    private void publishSnapshot() {
+        if (spectatorFeed != null) {
+            spectatorFeed.publish(GameSnapshot.capture(turns, townNumber, hunter, currentTown));
+        }
+    }
+
+    /**
+     * Reads the player's next answer. If the player has not typed it yet, everything printed so far is shown first;
+     * answers typed ahead on one line are read straight away, and what they print is shown with the next prompt.
+     *
+     * @return The answer in lowercase, or "x" if the player has gone away.
+     */
+    private String readLine() {
+        if (!input.hasAnswerReady()) {
+            outputWindow.flush();
+        }
+        String answer = input.next();
+        return answer == null ? "x" : answer.toLowerCase();
+    }
+
+    /**
+     * Reads an answer that may have spaces in it, like readLine does.
+     *
+     * @return The answer in lowercase, or "x" if the player has gone away.
+     */
+    private String readText() {
+        if (!input.hasAnswerReady()) {
+            outputWindow.flush();
+        }
+        String answer = input.nextText();
+        return answer == null ? "x" : answer.toLowerCase();
+    }
+
+    private void processChoice(String choice) {
+        FlightEvents.Choice event = new FlightEvents.Choice();
+        event.begin();
+        event.choice = choice;
+        String outcome;
+        if (choice.equals("b") || choice.equals("s")) {
+            currentTown.enterShop(choice, input);
+            outcome = "shopped";
+        } else if (choice.equals("m")) {
+            if (currentTown.leaveTown(difficulty.isEasyMode())) {
+                outputWindow.addTextToWindow(currentTown.getLatestNews() + "\n", Color.BLUE);
+                if (fixedRoute) {
+                    enterTown((townNumber + 1) % World.TOWNS);
+                } else {
+                    // the hunter takes one of the town's roads at random
+                    enterTown(World.neighbour(townNumber, random.nextInt(World.ROADS)));
+                }
+                outcome = "moved";
+            } else {
+                outcome = "blocked";
+            }
+        } else if (choice.equals("l")) {
+            currentTown.lookForTrouble();
+            outcome = "looked for trouble";
+        } else if (choice.equals("d")) {
+            if (!dugOnce) {
+                boolean success = currentTown.digForGold(false);
+                if (success) {
+                    dugOnce = true;
+                }
+                outcome = success ? "dug" : "could not dig";
+            } else {
+                currentTown.digForGold(true);
+                outcome = "already dug";
+            }
+        } else if (choice.equals("h")) {
+            currentTown.huntForTreasure();
+            outcome = "hunted";
+        } else if (choice.equals("x")) {
+            outputWindow.addTextToWindow("Fare thee well, " + hunter.getHunterName() + "!\n", Color.BLACK);
+            outcome = "quit";
+        } else {
+            outputWindow.addTextToWindow("Yikes! That's an invalid option! Try again.\n", Color.RED);
+            outcome = "invalid";
+        }
+        event.commit(hunter, outcome);
+    }
+}
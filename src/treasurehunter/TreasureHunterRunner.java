@@ -0,0 +1,79 @@
+package treasurehunter;
+
+import java.awt.Color;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Plays Treasure Hunter in a window, or in the console.
+ * Usage: java TreasureHunterRunner [--terminal] [--script file of moves] [--world world seed] [seed]
+ */
+public class TreasureHunterRunner {
+    private static final String USAGE =
+            "Usage: java TreasureHunterRunner [--terminal] [--script file of moves] [--world world seed] [seed]";
+
+    public static void main(String[] args) throws IOException {
+        // "--terminal" plays in the console; machines without a display always do
+        OutputSink window;
+        SplittableRandom random = new SplittableRandom();
+        boolean terminal = GraphicsEnvironment.isHeadless();
+        InputSource input = null;
+        Long worldSeed = null;
+        // a scripted or seeded game plays the same way every time, so it keeps away from the saved hunt
+        boolean replayable = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--terminal")) {
+                terminal = true;
+            } else if (arg.equals("--script") && i + 1 < args.length) {
+                // "--script moves.txt" plays the moves in the file instead of reading the keyboard
+                input = new ScriptInput(Path.of(args[++i]));
+                replayable = true;
+            } else if (arg.equals("--world") && i + 1 < args.length && isNumber(args[i + 1])) {
+                // "--world 1234" plays a world found by SeedSearchRunner, visiting its towns in order from town 0
+                worldSeed = Long.parseLong(args[++i]);
+                replayable = true;
+            } else if (isNumber(arg)) {
+                // an optional seed replays the same towns every time
+                random = new SplittableRandom(Long.parseLong(arg));
+                replayable = true;
+            } else {
+                System.err.println("Could not read argument " + (i + 1) + ": " + arg);
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+        }
+        if (terminal) {
+            window = new AnsiTerminalOutput();
+        } else {
+            window = new OutputWindow();
+        }
+        if (input == null) {
+            input = StreamInput.console();
+        }
+        TreasureHunter game = new TreasureHunter(window, random, input);
+        if (worldSeed != null) {
+            game.setWorldSeed(worldSeed);
+        }
+        if (replayable) {
+            game.play();
+            return;
+        }
+        // the hunt is saved after every turn, so closing the window or typing x keeps it
+        try (SnapshotStore saves = new SnapshotStore(Path.of("treasurehunter.sav"), 1)) {
+            game.setSnapshotStore(saves, 0);
+            game.play();
+        }
+    }
+
+    private static boolean isNumber(String arg) {
+        try {
+            Long.parseLong(arg);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package treasurehunter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The TreasureHunterServer lets many players play at once over a local TCP socket.
+ * The protocol is plain lines of text: the server sends the game a line at a time and the player answers each prompt with a line.
+ * Every connection gets its own game, input, output and random source, and is played on its own virtual thread.
+ * Each game is saved into its own slot of a snapshot file after every turn, and the file is forced to disk every few seconds.
+ * A slot belongs to the hunter's name until the game in it is won or lost, so a player who comes back under the same
+ * name is offered their saved hunt, even after the server restarts.
+ * Won games go on a leaderboard shared by every session and kept in a file.
+ * Every game publishes a snapshot after each turn to its own SpectatorFeed. Spectators connect to a second port,
+ * name the hunter they want to watch, and are sent a line for every turn until the hunt is over.
+ * Metrics are printed to standard error as a line of JSON at a fixed interval.
+ * Usage: java TreasureHunterServer [port] [snapshot file] [snapshot slots] [metrics interval in seconds] [leaderboard file]
+ * [spectator port, or -1 for none]
+ */
+public class TreasureHunterServer {
+    public static final int DEFAULT_PORT = 4444;
+    public static final int DEFAULT_SPECTATOR_PORT = 4445;
+    private static final int CHECKPOINT_SECONDS = 5;
+    // how often a spectator is sent the turns played since the last time
+    private static final long SPECTATOR_REFRESH_MILLIS = 100;
+
+    private final int port;
+    private final int spectatorPort;
+    private final SnapshotStore snapshots;
+    private final Leaderboard leaderboard;
+    // the slot bookkeeping is guarded by the server's lock
+    private final Queue<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+    private final Set<Integer> slotsInUse = new HashSet<>();
+    private final Map<String, SpectatorFeed> feeds = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a server without a spectator port. Games can still be watched in the same process through getFeed.
+     *
+     * @param port        The port to listen on.
+     * @param snapshots   Where running games are saved, or null to not save them.
+     * @param leaderboard Where won games are ranked, or null to not rank them.
+     */
+    public TreasureHunterServer(int port, SnapshotStore snapshots, Leaderboard leaderboard) {
+        this(port, -1, snapshots, leaderboard);
+    }
+
+    /**
+     * Creates a server.
+     *
+     * @param port          The port to listen on.
+     * @param spectatorPort The port spectators connect to, or -1 for none.
+     * @param snapshots     Where running games are saved, or null to not save them.
+     * @param leaderboard   Where won games are ranked, or null to not rank them.
+     */
+    public TreasureHunterServer(int port, int spectatorPort, SnapshotStore snapshots, Leaderboard leaderboard) {
+        this.port = port;
+        this.spectatorPort = spectatorPort;
+        this.snapshots = snapshots;
+        this.leaderboard = leaderboard;
+        if (snapshots != null) {
+            for (int slot = 0; slot < snapshots.getSlots(); slot++) {
+                String name = snapshots.getHunterName(slot);
+                if (name == null || slotsByName.putIfAbsent(name, slot) != null) {
+                    // empty, or an older game of a hunter who already has a slot
+                    freeSlots.add(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accepts players until the server is stopped.
+     *
+     * @throws IOException If the server socket cannot be opened.
+     */
+    public void run() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+             ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+             ScheduledExecutorService checkpoints = Executors.newSingleThreadScheduledExecutor()) {
+            if (snapshots != null) {
+                checkpoints.scheduleAtFixedRate(snapshots::force, CHECKPOINT_SECONDS, CHECKPOINT_SECONDS, TimeUnit.SECONDS);
+            }
+            System.out.println("Treasure Hunter server listening on port " + serverSocket.getLocalPort());
+            ServerSocket spectatorSocket = spectatorPort < 0 ? null
+                    : new ServerSocket(spectatorPort, 1024, InetAddress.getLoopbackAddress());
+            if (spectatorSocket != null) {
+                System.out.println("Spectators can watch on port " + spectatorSocket.getLocalPort());
+                sessions.execute(() -> acceptSpectators(spectatorSocket, sessions));
+            }
+            try (spectatorSocket) {
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    sessions.execute(() -> playSession(socket));
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the feed of a game being played, for watching it in the same process.
+     *
+     * @param hunterName The hunter's name, in lowercase.
+     * @return The game's feed, or null if no one by that name is playing.
+     */
+    public SpectatorFeed getFeed(String hunterName) {
+        return feeds.get(hunterName);
+    }
+
+    /**
+     * Plays one game with a connected player, then closes the connection.
+     *
+     * @param socket The player's connection.
+     */
+    private void playSession(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputSource input = new StreamInput(socket.getInputStream());
+            OutputSink output = new LineProtocolOutput(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            TreasureHunter game = new TreasureHunter(output, new SplittableRandom(), input);
+            game.setLeaderboard(leaderboard);
+            String name = game.askHunterName();
+            SpectatorFeed feed = new SpectatorFeed();
+            game.setSpectatorFeed(feed);
+            // a second game under the same name takes over the name's feed until it ends
+            feeds.put(name, feed);
+            Integer slot = snapshots == null ? null : claimSlot(name);
+            try {
+                if (slot != null) {
+                    game.setSnapshotStore(snapshots, slot);
+                }
+                // with no slot (no snapshot file, every slot taken, or the hunter already playing) nothing is saved
+                game.play();
+            } finally {
+                feeds.remove(name, feed);
+                if (slot != null) {
+                    releaseSlot(name, slot);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // the player hung up; nothing else to clean up
+        }
+    }
+
+    /**
+     * Accepts spectators until the socket is closed.
+     *
+     * @param spectatorSocket The socket spectators connect to.
+     * @param sessions        Where each spectator is watched from.
+     */
+    private void acceptSpectators(ServerSocket spectatorSocket, ExecutorService sessions) {
+        try {
+            while (!spectatorSocket.isClosed()) {
+                Socket socket = spectatorSocket.accept();
+                sessions.execute(() -> watchSession(socket));
+            }
+        } catch (IOException e) {
+            // the server is shutting down
+        }
+    }
+
+    /**
+     * Asks a spectator whose hunt to watch, then sends them a line for every turn until the hunt is over.
+     * The spectator only ever reads the game's feed, so a slow spectator skips turns instead of slowing the game down.
+     *
+     * @param socket The spectator's connection.
+     */
+    private void watchSession(Socket socket) {
+        try (socket) {
+            InputSource input = new StreamInput(socket.getInputStream());
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            out.write("Whose hunt do you want to watch?\n");
+            out.flush();
+            String line = input.readLine();
+            if (line == null) {
+                return;
+            }
+            String name = line.strip().toLowerCase();
+            SpectatorFeed feed = feeds.get(name);
+            if (feed == null) {
+                out.write("No one called " + name + " is hunting right now.\n");
+                out.flush();
+                return;
+            }
+            Spectator spectator = feed.watch();
+            while (true) {
+                // checked before reading, so the turns played just before the game ended are still sent
+                boolean playing = feeds.get(name) == feed;
+                for (GameSnapshot snapshot = spectator.poll(); snapshot != null; snapshot = spectator.poll()) {
+                    out.write(snapshot + "\n");
+                }
+                if (!playing) {
+                    out.write("The hunt is over.\n");
+                    out.flush();
+                    return;
+                }
+                out.flush();
+                Thread.sleep(SPECTATOR_REFRESH_MILLIS);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // the spectator hung up
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finds the slot a hunter's game is saved in, or gives the hunter a free one.
+     *
+     * @param name The hunter's name.
+     * @return The slot, or null if there is none to be had.
+     */
+    private synchronized Integer claimSlot(String name) {
+        Integer slot = slotsByName.get(name);
+        if (slot != null) {
+            // a second connection under the same name must not save over the first one's game
+            return slotsInUse.add(slot) ? slot : null;
+        }
+        slot = freeSlots.poll();
+        if (slot == null) {
+            return null;
+        }
+        // the slot may still hold an older game of a hunter who has another slot now
+        snapshots.clear(slot);
+        slotsByName.put(name, slot);
+        slotsInUse.add(slot);
+        return slot;
+    }
+
+    /**
+     * Gives a slot back once its session is over. The slot stays the hunter's while it holds a game to resume.
+     *
+     * @param name The hunter's name.
+     * @param slot The slot.
+     */
+    private synchronized void releaseSlot(String name, int slot) {
+        slotsInUse.remove(slot);
+        if (!snapshots.hasSnapshot(slot)) {
+            slotsByName.remove(name);
+            freeSlots.add(slot);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        RunnerArgs arguments = new RunnerArgs(args);
+        int port = arguments.getInt(0, DEFAULT_PORT);
+        Path snapshotFile = arguments.getPath(1, Path.of("treasurehunter-server.sav"));
+        int slots = arguments.getInt(2, 4096);
+        long metricsSeconds = arguments.getLong(3, 60);
+        Path leaderboardFile = arguments.getPath(4, Path.of("treasurehunter-leaderboard.dat"));
+        int spectatorPort = arguments.getInt(5, DEFAULT_SPECTATOR_PORT);
+        MetricsReporter metrics = new MetricsReporter(System.err, true, metricsSeconds);
+        try (SnapshotStore snapshots = new SnapshotStore(snapshotFile, slots);
+             Leaderboard leaderboard = new Leaderboard(leaderboardFile)) {
+            new TreasureHunterServer(port, spectatorPort, snapshots, leaderboard).run();
+        } finally {
+            metrics.close();
+        }
+    }
+}
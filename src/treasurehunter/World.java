@@ -0,0 +1,214 @@
+package treasurehunter;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The World class is the map a game is played on: a grid of towns that wraps around at the edges, where every town
+ * has a road to each of its four neighbours.<p>
+ * A town's terrain, treasure and toughness are rolled from the world's seed and the town's number, so a town is only
+ * made the first time it is needed and can be thrown away and made again exactly. The towns in use are kept in a
+ * small cache that drops the town visited longest ago; the only thing about a town that changes during a game is
+ * whether it has been searched, so that is remembered for every town and put back when a dropped town is made again.
+ * <p>
+ * While the hunter is in a town, its neighbours are made in the background, so moving on never waits. Only the
+ * neighbours of the hunter's town are made that way, so the town the hunter is in is never dropped.
+ * Every town in a world shares the world's one shop, and every town with the same terrain shares one Terrain.
+ */
+public class World {
+    /** The number of towns along each side of the grid. */
+    public static final int WIDTH = 64;
+    /** The number of towns in a world. */
+    public static final int TOWNS = WIDTH * WIDTH;
+    /** The number of roads out of every town. */
+    public static final int ROADS = 4;
+    /** The number of towns a world keeps when no cache size is given. */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    // making a town takes a few rolls, so one background thread is plenty for every game in the process
+    private static final ExecutorService PREGENERATOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "town-pregenerator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Instance variables
+    private final long seed;
+    private final Difficulty difficulty;
+    private final Shop shop;
+    private final SplittableRandom random;
+    private final OutputSink outputWindow;
+    private final Map<Integer, Town> towns;
+    private final BitSet searchedTowns;
+    private GameEventListener eventListener;
+    private int hunterTown;
+    private long townsMade;
+
+    /**
+     * Creates a world with the default cache size. No towns are made until they are asked for.
+     *
+     * @param seed         The seed every town is rolled from.
+     * @param difficulty   The difficulty the game is played at.
+     * @param random       The game's random source, used for every roll made in the towns.
+     * @param outputWindow The window the game is shown in.
+     */
+    public World(long seed, Difficulty difficulty, SplittableRandom random, OutputSink outputWindow) {
+        this(seed, difficulty, random, outputWindow, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a world. No towns are made until they are asked for.
+     *
+     * @param seed         The seed every town is rolled from.
+     * @param difficulty   The difficulty the game is played at.
+     * @param random       The game's random source, used for every roll made in the towns.
+     * @param outputWindow The window the game is shown in.
+     * @param cacheSize    The most towns kept at once; at least the current town and its neighbours are always kept.
+     */
+    public World(long seed, Difficulty difficulty, SplittableRandom random, OutputSink outputWindow, int cacheSize) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.random = random;
+        this.outputWindow = outputWindow;
+        shop = new Shop(difficulty.getMarkdown(), difficulty.isSamurai(), outputWindow);
+        searchedTowns = new BitSet(TOWNS);
+        eventListener = GameEventListener.NONE;
+        hunterTown = -1;
+        int capacity = Math.max(cacheSize, ROADS + 1);
+        towns = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Integer, Town> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                searchedTowns.set(eldest.getKey(), eldest.getValue().isSearched());
+                return true;
+            }
+        };
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Sets who is told about everything that happens in the world's towns.
+     *
+     * @param eventListener The listener for the towns' events.
+     */
+    public synchronized void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+        for (Town town : towns.values()) {
+            town.setEventListener(eventListener);
+        }
+    }
+
+    /**
+     * Finds a town, making it if it is not in the cache.
+     *
+     * @param townNumber The town's number, from 0 to TOWNS - 1.
+     * @return The town.
+     */
+    public synchronized Town getTown(int townNumber) {
+        Town town = towns.get(townNumber);
+        if (town == null) {
+            town = makeTown(townNumber);
+            towns.put(townNumber, town);
+        }
+        return town;
+    }
+
+    /**
+     * Moves the hunter into a town and starts making its neighbours in the background.
+     *
+     * @param townNumber The town's number, from 0 to TOWNS - 1.
+     * @return The town.
+     */
+    public synchronized Town enterTown(int townNumber) {
+        hunterTown = townNumber;
+        Town town = getTown(townNumber);
+        PREGENERATOR.execute(() -> pregenerateNeighbours(townNumber));
+        return town;
+    }
+
+    /**
+     * Works out where a road out of a town leads.
+     *
+     * @param townNumber The town the road starts in.
+     * @param road       Which road, from 0 to ROADS - 1: north, east, south or west.
+     * @return The number of the town at the other end.
+     */
+    public static int neighbour(int townNumber, int road) {
+        return neighbour(WIDTH, townNumber, road);
+    }
+
+    /**
+     * Works out where a road out of a town leads, on a grid of any width.
+     *
+     * @param width      The number of towns along each side of the grid.
+     * @param townNumber The town the road starts in.
+     * @param road       Which road, from 0 to ROADS - 1: north, east, south or west.
+     * @return The number of the town at the other end.
+     */
+    static int neighbour(int width, int townNumber, int road) {
+        int x = townNumber % width;
+        int y = townNumber / width;
+        switch (road) {
+            case 0:
+                y = (y + width - 1) % width;
+                break;
+            case 1:
+                x = (x + 1) % width;
+                break;
+            case 2:
+                y = (y + 1) % width;
+                break;
+            default:
+                x = (x + width - 1) % width;
+                break;
+        }
+        return y * width + x;
+    }
+
+    /**
+     * Accessor method to get how many towns have been made, counting towns made again after being dropped.
+     *
+     * @return The number of towns made.
+     */
+    public synchronized long getTownsMade() {
+        return townsMade;
+    }
+
+    /**
+     * Makes a town's neighbours, stopping early if the hunter has already moved on.
+     *
+     * @param townNumber The town the hunter was in when this was asked for.
+     */
+    private void pregenerateNeighbours(int townNumber) {
+        for (int road = 0; road < ROADS; road++) {
+            synchronized (this) {
+                if (hunterTown != townNumber) {
+                    return;
+                }
+                getTown(neighbour(townNumber, road));
+            }
+        }
+    }
+
+    private Town makeTown(int townNumber) {
+        byte rolled = WorldStore.rollTown(seed, townNumber, difficulty);
+        Town town = new Town(shop, WorldStore.terrainType(rolled), WorldStore.treasure(rolled), WorldStore.isToughTown(rolled),
+                difficulty.getTownOdds(), random, outputWindow);
+        town.setSearched(searchedTowns.get(townNumber));
+        town.setEventListener(eventListener);
+        townsMade++;
+        return town;
+    }
+}
@@ -0,0 +1,265 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The WorldStore holds every town of a very large world in one byte per town, for worlds far too big to keep as
+ * Town objects. Each byte packs the town's terrain, treasure, toughness, and whether it has been searched or dug.<p>
+ * Towns are rolled exactly as World rolls them, so a store and a World with the same seed and difficulty hold the same
+ * towns, laid out on the same kind of wrapping grid. A Town for one entry is only made when it is asked for.<p>
+ * Every town is rolled from the seed and its own number, so generation is split across a fork-join pool with no
+ * shared state; each task writes its own range of the array.
+ */
+public class WorldStore {
+    /** The widest grid a store can hold, so that the number of towns still fits in an array. */
+    public static final int MAX_WIDTH = 46340;
+
+    // the bits of a town's byte
+    private static final int TERRAIN_MASK = 0x07;
+    private static final int TREASURE_SHIFT = 3;
+    private static final int TREASURE_MASK = 0x03;
+    private static final int TOUGH_TOWN = 0x20;
+    private static final int SEARCHED = 0x40;
+    private static final int DUG = 0x80;
+    private static final int TOWNS_PER_TASK = 1 << 16;
+    // the step between the keys of a world's streams before they are mixed; any odd constant would do
+    private static final long STREAM_STEP = 0x9E3779B97F4A7C15L;
+    // the stream number of the rolls made while playing; town n rolls from stream n + 1
+    private static final long PLAY_STREAM = 0;
+
+    // Instance variables
+    private final long seed;
+    private final Difficulty difficulty;
+    private final int width;
+    private final byte[] towns;
+
+    /**
+     * Creates a store and rolls every town of the world on the common fork-join pool.
+     *
+     * @param seed       The seed every town is rolled from.
+     * @param difficulty The difficulty, which decides how many towns are tough.
+     * @param width      The number of towns along each side of the grid, up to MAX_WIDTH.
+     */
+    public WorldStore(long seed, Difficulty difficulty, int width) {
+        this(seed, difficulty, width, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a store and rolls every town of the world on the given pool.
+     *
+     * @param seed       The seed every town is rolled from.
+     * @param difficulty The difficulty, which decides how many towns are tough.
+     * @param width      The number of towns along each side of the grid, up to MAX_WIDTH.
+     * @param pool       The pool the towns are rolled on.
+     */
+    public WorldStore(long seed, Difficulty difficulty, int width, ForkJoinPool pool) {
+        if (width < 1 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("A world must be from 1 to " + MAX_WIDTH + " towns wide, not " + width);
+        }
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.width = width;
+        towns = new byte[width * width];
+        ParallelRange.forEach(pool, 0, towns.length, TOWNS_PER_TASK, (from, to) -> {
+            for (int townNumber = (int) from; townNumber < to; townNumber++) {
+                towns[townNumber] = rollTown(seed, townNumber, difficulty);
+            }
+        });
+    }
+
+    /**
+     * Rolls one town of a world.
+     *
+     * @param seed       The world's seed.
+     * @param townNumber The town's number.
+     * @param difficulty The difficulty, whose odds and toughness decide how the town is rolled.
+     * @return The town, packed into a byte as the store keeps it.
+     */
+    static byte rollTown(long seed, int townNumber, Difficulty difficulty) {
+        SplittableRandom random = townRandom(seed, townNumber);
+        int terrainType = difficulty.getTownOdds().rollTerrainType(random);
+        Treasure treasure = difficulty.getTownOdds().rollTreasure(random);
+        boolean toughTown = random.nextDouble() < difficulty.getToughness();
+        return (byte) (terrainType | treasure.ordinal() << TREASURE_SHIFT | (toughTown ? TOUGH_TOWN : 0));
+    }
+
+    /**
+     * Makes the random source one town is rolled from. Its terrain is rolled first, then its treasure, then whether it
+     * is tough, so a caller that only needs the first rolls can stop there.
+     *
+     * @param seed       The world's seed.
+     * @param townNumber The town's number.
+     * @return The random source.
+     */
+    static SplittableRandom townRandom(long seed, int townNumber) {
+        return new SplittableRandom(streamSeed(seed, townNumber + 1L));
+    }
+
+    /**
+     * Makes the random source for the rolls made while a game is played on a world, such as brawls, digs and hunts.
+     * It shares no numbers with any town's random source.
+     *
+     * @param seed The world's seed.
+     * @return The random source.
+     */
+    static SplittableRandom playRandom(long seed) {
+        return new SplittableRandom(streamSeed(seed, PLAY_STREAM));
+    }
+
+    /**
+     * Works out the seed of one of a world's random streams.<p>
+     * A SplittableRandom made from a seed s draws mix64(s + g), mix64(s + 2g) and so on, for a fixed step g. Seeds that
+     * differ by a multiple of g therefore give the same numbers shifted by some draws, which is what happened when
+     * town n was seeded with seed + (n + 1) * g. Mixing the seed and then the stream's key gives every stream a seed
+     * that looks random, so two streams only overlap by a 1 in 2^64 chance.
+     *
+     * @param seed   The world's seed.
+     * @param stream The stream's number.
+     * @return The seed of the stream.
+     */
+    static long streamSeed(long seed, long stream) {
+        return mix64(mix64(seed) + stream * STREAM_STEP);
+    }
+
+    /**
+     * The finalizer of SplitMix64, which turns every bit of its input into a change of about half the output bits.
+     *
+     * @param z The value to mix.
+     * @return The mixed value.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Accessor method to get the number of towns in the world.
+     *
+     * @return The number of towns.
+     */
+    public int getTowns() {
+        return towns.length;
+    }
+
+    /**
+     * Accessor method to get how much memory the towns take.
+     *
+     * @return The size of the town array in bytes.
+     */
+    public long getSizeInBytes() {
+        return towns.length;
+    }
+
+    /**
+     * Works out where a road out of a town leads.
+     *
+     * @param townNumber The town the road starts in.
+     * @param road       Which road, from 0 to World.ROADS - 1: north, east, south or west.
+     * @return The number of the town at the other end.
+     */
+    public int neighbour(int townNumber, int road) {
+        return World.neighbour(width, townNumber, road);
+    }
+
+    public int getTerrainType(int townNumber) {
+        return terrainType(towns[townNumber]);
+    }
+
+    public Treasure getTreasure(int townNumber) {
+        return treasure(towns[townNumber]);
+    }
+
+    public boolean isToughTown(int townNumber) {
+        return isToughTown(towns[townNumber]);
+    }
+
+    public boolean isSearched(int townNumber) {
+        return (towns[townNumber] & SEARCHED) != 0;
+    }
+
+    public boolean isDug(int townNumber) {
+        return (towns[townNumber] & DUG) != 0;
+    }
+
+    /**
+     * Marks whether a town's treasure has been searched for.
+     * Different towns may be marked from different threads only if they are kept apart by other synchronization.
+     *
+     * @param townNumber   The town's number.
+     * @param searchedTown True if the town has been searched.
+     */
+    public void setSearched(int townNumber, boolean searchedTown) {
+        setFlag(townNumber, SEARCHED, searchedTown);
+    }
+
+    /**
+     * Marks whether a hunter has dug for gold in a town.
+     *
+     * @param townNumber The town's number.
+     * @param dug        True if the town has been dug.
+     */
+    public void setDug(int townNumber, boolean dug) {
+        setFlag(townNumber, DUG, dug);
+    }
+
+    /**
+     * Makes a Town for one entry of the store. Once the hunter leaves it, call saveTown to keep whether it was searched.
+     *
+     * @param townNumber   The town's number.
+     * @param shop         The shop the town uses; one shop can serve every town of a game.
+     * @param random       The game's random source, used for every roll made in the town.
+     * @param outputWindow The window the game is shown in.
+     * @return The town.
+     */
+    public Town createTown(int townNumber, Shop shop, SplittableRandom random, OutputSink outputWindow) {
+        byte town = towns[townNumber];
+        Town view = new Town(shop, terrainType(town), treasure(town), isToughTown(town), difficulty.getTownOdds(), random,
+                outputWindow);
+        view.setSearched((town & SEARCHED) != 0);
+        return view;
+    }
+
+    /**
+     * Writes back what changed in a Town made by createTown.
+     *
+     * @param townNumber The town's number.
+     * @param town       The town.
+     */
+    public void saveTown(int townNumber, Town town) {
+        setSearched(townNumber, town.isSearched());
+    }
+
+    static int terrainType(byte town) {
+        return town & TERRAIN_MASK;
+    }
+
+    static Treasure treasure(byte town) {
+        return Treasure.VALUES[town >> TREASURE_SHIFT & TREASURE_MASK];
+    }
+
+    static boolean isToughTown(byte town) {
+        return (town & TOUGH_TOWN) != 0;
+    }
+
+    private void setFlag(int townNumber, int flag, boolean set) {
+        if (set) {
+            towns[townNumber] |= (byte) flag;
+        } else {
+            towns[townNumber] &= (byte) ~flag;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package treasurehunter;
+
+/**
+ * Rolls a very large world into a WorldStore and prints how long it took, how much memory it uses,
+ * and how its towns came out.
+ * Usage: java WorldStoreRunner [towns along each side] [seed]
+ */
+public class WorldStoreRunner {
+    private static final String[] TERRAIN_NAMES = {"Mountains", "Ocean", "Plains", "Desert", "Jungle", "Marsh"};
+
+    public static void main(String[] args) {
+        RunnerArgs arguments = new RunnerArgs(args);
+        int width = arguments.getInt(0, 10000);
+        long seed = arguments.getLong(1, System.nanoTime());
+
+        long start = System.nanoTime();
+        WorldStore store = new WorldStore(seed, Difficulty.NORMAL, width);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int towns = store.getTowns();
+        System.out.printf("Rolled %d towns in %.2f seconds (%.0f million towns/second), seed %d%n",
+                towns, seconds, towns / seconds / 1e6, seed);
+        System.out.printf("Store size: %d MB, %.2f bytes per town%n",
+                store.getSizeInBytes() >> 20, (double) store.getSizeInBytes() / towns);
+
+        long[] terrains = new long[TERRAIN_NAMES.length];
+        long[] treasures = new long[Treasure.VALUES.length];
+        long toughTowns = 0;
+        for (int townNumber = 0; townNumber < towns; townNumber++) {
+            terrains[store.getTerrainType(townNumber)]++;
+            treasures[store.getTreasure(townNumber).ordinal()]++;
+            if (store.isToughTown(townNumber)) {
+                toughTowns++;
+            }
+        }
+        for (int i = 0; i < terrains.length; i++) {
+            System.out.printf("  %-10s %6.2f%%%n", TERRAIN_NAMES[i], 100.0 * terrains[i] / towns);
+        }
+        for (int i = 0; i < treasures.length; i++) {
+            System.out.printf("  %-10s %6.2f%%%n", Treasure.VALUES[i].getName(), 100.0 * treasures[i] / towns);
+        }
+        System.out.printf("  %-10s %6.2f%%%n", "tough", 100.0 * toughTowns / towns);
+    }
+}
@@ -0,0 +1,59 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a BufferedOutput keeps exactly the text the game showed.
+ */
+class BufferedOutputTest {
+    @Test
+    void textIsKeptUntilCleared() {
+        BufferedOutput output = new BufferedOutput();
+        output.addTextToWindow("Welcome to town, ", Color.BLUE);
+        output.addTextToWindow("ann.\n", Color.RED);
+        output.flush();
+
+        assertEquals("Welcome to town, ann.\n", output.getText());
+        output.clear();
+        assertEquals("", output.getText());
+    }
+
+    @Test
+    void aScreenReplacesTheTextWithItsRegionsInOrder() {
+        BufferedOutput output = new BufferedOutput();
+        output.addTextToWindow("last turn\n", Color.BLACK);
+        GameScreen screen = new GameScreen();
+        screen.set(GameScreen.Region.NEWS, "news\n", Color.BLUE);
+        screen.set(GameScreen.Region.MENU, "menu\n", Color.BLACK);
+
+        output.showScreen(screen);
+
+        StringBuilder expected = new StringBuilder();
+        for (GameScreen.Region region : GameScreen.Region.VALUES) {
+            expected.append(screen.getText(region));
+        }
+        assertEquals(expected.toString(), output.getText());
+        assertFalse(screen.isChanged(GameScreen.Region.NEWS));
+    }
+
+    @Test
+    void aGameShowsItsTextInTheBuffer() {
+        BufferedOutput output = new BufferedOutput();
+        QueueInput input = new QueueInput();
+        input.add("ann");
+        input.add("n");
+        input.add("x");
+        input.close();
+
+        new TreasureHunter(output, new SplittableRandom(5), input).play();
+
+        assertTrue(output.getText().contains("(H)unt for treasure!"));
+    }
+}
@@ -0,0 +1,148 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that events written to an EventLog as zigzag varints read back the same.
+ */
+class EventLogTest {
+    private static final int[] VALUES = {0, 1, -1, 63, -64, 64, 127, 128, -129, 16383, 16384, 1 << 20,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void eventsReadBackInOrderWithTheirNumbers() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file)) {
+            EventLogWriter writer = log.newWriter();
+            for (int value : VALUES) {
+                writer.onEvent(GameEvent.GAME_STARTED, value, -value, value >>> 1);
+                writer.onEvent(GameEvent.GOLD_CHANGED, value, 0, 0);
+                writer.onEvent(GameEvent.ITEM_BOUGHT, value, value ^ 0x55, 0);
+            }
+            writer.onEvent(GameEvent.GAME_ENDED, -1, 42, 0);
+        }
+
+        try (EventLogReader reader = new EventLogReader(file)) {
+            for (int value : VALUES) {
+                assertEvent(reader, GameEvent.GAME_STARTED, value, -value, value >>> 1);
+                assertEvent(reader, GameEvent.GOLD_CHANGED, value, 0, 0);
+                assertEvent(reader, GameEvent.ITEM_BOUGHT, value, value ^ 0x55, 0);
+            }
+            assertEvent(reader, GameEvent.GAME_ENDED, -1, 42, 0);
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void numbersAnEventDoesNotUseAreNotStored() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file)) {
+            log.newWriter().onEvent(GameEvent.TREASURE_FOUND, 2, 99, 99);
+        }
+
+        // one byte for the event and one for its only number
+        assertEquals(2, file.toFile().length());
+        try (EventLogReader reader = new EventLogReader(file)) {
+            assertEvent(reader, GameEvent.TREASURE_FOUND, 2, 0, 0);
+        }
+    }
+
+    @Test
+    void gamesFromSeveralWritersAndBatchesAllReadBack() throws IOException {
+        Path file = directory.resolve("events.log");
+        int games = 20_000;
+        try (EventLog log = new EventLog(file)) {
+            EventLogWriter first = log.newWriter();
+            EventLogWriter second = log.newWriter();
+            for (int game = 0; game < games; game++) {
+                EventLogWriter writer = game % 2 == 0 ? first : second;
+                writer.onEvent(GameEvent.GAME_STARTED, 1, game, 0);
+                writer.onEvent(GameEvent.GAME_ENDED, 1, game, 0);
+            }
+        }
+
+        long total = 0;
+        long started = 0;
+        try (EventLogReader reader = new EventLogReader(file)) {
+            while (reader.next()) {
+                if (reader.getEvent() == GameEvent.GAME_STARTED) {
+                    started++;
+                    // every game's end comes right after its start, even across batches
+                    assertTrue(reader.next());
+                    assertEquals(GameEvent.GAME_ENDED, reader.getEvent());
+                    total += reader.getB();
+                }
+            }
+        }
+        assertEquals(games, started);
+        assertEquals((long) games * (games - 1) / 2, total);
+    }
+
+    @Test
+    void aLogCutOffInsideAnEventIsAnError() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file)) {
+            log.newWriter().onEvent(GameEvent.ITEM_SOLD, 3, 300, 0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (EventLogReader reader = new EventLogReader(file)) {
+            assertThrows(EOFException.class, reader::next);
+        }
+    }
+
+    @Test
+    void anEventTheGameDoesNotHaveIsAnError() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file)) {
+            log.newWriter().onEvent(GameEvent.GOLD_CHANGED, 5, 0, 0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) GameEvent.VALUES.length, 0}));
+            channel.write(ByteBuffer.wrap(new byte[]{-1, 0}));
+        }
+
+        try (EventLogReader reader = new EventLogReader(file)) {
+            assertEvent(reader, GameEvent.GOLD_CHANGED, 5, 0, 0);
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void aReplayOfAnItemTheGameDoesNotHaveIsAnError() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file)) {
+            EventLogWriter writer = log.newWriter();
+            writer.onEvent(GameEvent.GAME_STARTED, Difficulty.NORMAL.ordinal(), 10, 0);
+            writer.onEvent(GameEvent.ITEM_ADDED, Item.VALUES.length, 0, 0);
+        }
+
+        assertThrows(IOException.class, () -> GameReplayer.replay(file, replayer -> { }));
+    }
+
+    private static void assertEvent(EventLogReader reader, GameEvent event, int a, int b, int c) throws IOException {
+        assertTrue(reader.next());
+        assertEquals(event, reader.getEvent());
+        assertEquals(a, reader.getA());
+        assertEquals(b, reader.getB());
+        assertEquals(c, reader.getC());
+    }
+}
@@ -0,0 +1,59 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a hunter's kit and treasures survive being packed into bits and put back.
+ */
+class HunterTest {
+    @Test
+    void restoredInventoryMatchesTheSavedOne() {
+        Hunter hunter = new Hunter("ann", 100, true, NullOutput.INSTANCE);
+        hunter.addItem(Item.WATER);
+        hunter.addItem(Item.BOOTS);
+        hunter.addItem(Item.SWORD);
+        hunter.addTreasure(Treasure.CROWN);
+        hunter.addTreasure(Treasure.GEM);
+
+        Hunter restored = new Hunter("ann", 100, true, NullOutput.INSTANCE);
+        restored.restoreInventory(hunter.getKitBits(), hunter.getTreasureBits());
+
+        assertEquals(hunter.getKitBits(), restored.getKitBits());
+        assertEquals(hunter.getTreasureBits(), restored.getTreasureBits());
+        for (Item item : Item.VALUES) {
+            assertEquals(hunter.hasItemInKit(item), restored.hasItemInKit(item), item.getName());
+        }
+        for (Treasure treasure : Treasure.VALUES) {
+            assertEquals(hunter.hasTreasure(treasure), restored.hasTreasure(treasure), treasure.getName());
+        }
+        assertEquals(hunter.getInventory(), restored.getInventory());
+        assertEquals(hunter.getTreasureList(), restored.getTreasureList());
+    }
+
+    @Test
+    void everyItemHasItsOwnBit() {
+        int seen = 0;
+        for (Item item : Item.VALUES) {
+            assertEquals(1, Integer.bitCount(item.getBit()), item.getName());
+            assertEquals(0, seen & item.getBit(), item.getName());
+            seen |= item.getBit();
+        }
+        // the kit is saved in one byte
+        assertTrue(seen <= 0xFF);
+    }
+
+    @Test
+    void removingAnItemClearsOnlyItsBit() {
+        Hunter hunter = new Hunter("ann", 100, false, NullOutput.INSTANCE);
+        hunter.addItem(Item.ROPE);
+        hunter.addItem(Item.SHOVEL);
+        hunter.removeItemFromKit(Item.ROPE);
+
+        assertFalse(hunter.hasItemInKit(Item.ROPE));
+        assertEquals(Item.SHOVEL.getBit(), hunter.getKitBits());
+    }
+}
@@ -0,0 +1,73 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a leaderboard file has one owner writing it, and that it can be read while the owner goes on writing.
+ */
+class LeaderboardTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void aReadOnlyLeaderboardNeverChangesTheFile() throws IOException {
+        Path file = directory.resolve("leaderboard.dat");
+        try (Leaderboard owner = new Leaderboard(file, 5)) {
+            for (int turns = 20; turns < 40; turns++) {
+                owner.submit(new LeaderboardEntry("ann", Difficulty.NORMAL, turns, 100, turns));
+            }
+            owner.flush();
+            byte[] written = Files.readAllBytes(file);
+
+            try (Leaderboard reader = Leaderboard.readOnly(file, 5)) {
+                List<LeaderboardEntry> top = reader.getTop(Difficulty.NORMAL, Leaderboard.Ranking.FEWEST_TURNS, 10);
+                assertEquals(5, top.size());
+                assertEquals(20, top.get(0).getTurns());
+                assertThrows(IllegalStateException.class,
+                        () -> reader.submit(new LeaderboardEntry("bob", Difficulty.NORMAL, 1, 1, 1)));
+            }
+            assertArrayEquals(written, Files.readAllBytes(file));
+
+            // the owner still appends to the file the reader saw
+            owner.submit(new LeaderboardEntry("bob", Difficulty.NORMAL, 3, 100, 50));
+            owner.flush();
+        }
+
+        try (Leaderboard reader = Leaderboard.readOnly(file, 5)) {
+            assertEquals("bob", reader.getTop(Difficulty.NORMAL, Leaderboard.Ranking.FEWEST_TURNS, 1).get(0).getHunterName());
+        }
+    }
+
+    @Test
+    void onlyOneLeaderboardOwnsTheFileAtATime() throws IOException {
+        Path file = directory.resolve("leaderboard.dat");
+        try (Leaderboard owner = new Leaderboard(file)) {
+            assertThrows(IOException.class, () -> new Leaderboard(file));
+            owner.submit(new LeaderboardEntry("ann", Difficulty.HARD, 30, 80, 1));
+        }
+
+        try (Leaderboard owner = new Leaderboard(file)) {
+            assertEquals(1, owner.getTop(Difficulty.HARD, Leaderboard.Ranking.MOST_GOLD, 10).size());
+        }
+    }
+
+    @Test
+    void aMissingFileIsAnEmptyReadOnlyLeaderboard() throws IOException {
+        Path file = directory.resolve("missing.dat");
+        try (Leaderboard reader = Leaderboard.readOnly(file, 5)) {
+            assertEquals(List.of(), reader.getTop(Difficulty.EASY, Leaderboard.Ranking.FEWEST_TURNS, 10));
+        }
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,44 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the prices and price lists a PriceTable works out ahead of time.
+ */
+class PriceTableTest {
+    private static final int[] BASE_PRICES = {2, 4, 6, 12, 20, 20, 8, 0};
+
+    @Test
+    void sellPricesAreMarkedDownAndRoundedDown() {
+        PriceTable prices = new PriceTable(BASE_PRICES, 0.75);
+        for (Item item : Item.VALUES) {
+            assertEquals(BASE_PRICES[item.ordinal()], prices.getBuyPrice(item), item.getName());
+            assertEquals((int) (BASE_PRICES[item.ordinal()] * 0.75), prices.getSellPrice(item), item.getName());
+        }
+    }
+
+    @Test
+    void theTableKeepsItsOwnCopyOfThePrices() {
+        int[] basePrices = BASE_PRICES.clone();
+        PriceTable prices = new PriceTable(basePrices, 0.5);
+        basePrices[Item.ROPE.ordinal()] = 99;
+
+        assertEquals(4, prices.getBuyPrice(Item.ROPE));
+    }
+
+    @Test
+    void onlyTheSamuraiListHasTheSword() {
+        PriceTable prices = new PriceTable(BASE_PRICES, 0.5);
+        String catalogue = prices.getCatalogue(false);
+        String samuraiCatalogue = prices.getCatalogue(true);
+
+        assertTrue(catalogue.startsWith("Water: 2 gold\nRope: 4 gold\n"));
+        assertFalse(catalogue.contains("Sword"));
+        assertEquals(catalogue + "Sword: 0 gold\n", samuraiCatalogue);
+        assertEquals(Item.VALUES.length - 1, catalogue.split("\n").length);
+    }
+}
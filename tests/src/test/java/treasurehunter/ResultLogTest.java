@@ -0,0 +1,150 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that games recorded in a ResultLog read back column by column, compressed or not.
+ */
+class ResultLogTest {
+    // more than one chunk, so the second chunk is only partly full
+    private static final int GAMES = ResultLog.CHUNK_ROWS + 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyColumnReadsBack() throws IOException {
+        checkEveryColumnReadsBack(false);
+    }
+
+    @Test
+    void everyCompressedColumnReadsBack() throws IOException {
+        checkEveryColumnReadsBack(true);
+    }
+
+    @Test
+    void aScanReadsOnlyTheColumnsAskedFor() throws IOException {
+        Path file = directory.resolve("results.log");
+        write(file, true, 0, GAMES);
+
+        long[] turns = {0};
+        try (ResultLogReader reader = new ResultLogReader(file)) {
+            long games = reader.scan((rows, columns) -> {
+                assertEquals(1, columns.length);
+                for (int i = 0; i < rows; i++) {
+                    turns[0] += columns[0].getInt(i * Integer.BYTES);
+                }
+            }, ResultColumn.TURNS);
+            assertEquals(GAMES, games);
+        }
+        long expected = 0;
+        for (int game = 0; game < GAMES; game++) {
+            expected += game % 500;
+        }
+        assertEquals(expected, turns[0]);
+    }
+
+    @Test
+    void aTornChunkAtTheEndIsIgnoredAndCutOffOnReopening() throws IOException {
+        Path file = directory.resolve("results.log");
+        write(file, false, 0, 100);
+        long whole = Files.size(file);
+        // the start of a chunk header that promises more bytes than follow
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer torn = ByteBuffer.allocate(ResultLog.CHUNK_HEADER_SIZE + 10).order(ByteOrder.LITTLE_ENDIAN);
+            torn.putInt(50).put((byte) 0);
+            for (int i = 0; i < ResultColumn.VALUES.length; i++) {
+                torn.putInt(1000);
+            }
+            channel.write(torn.position(torn.capacity()).flip());
+        }
+
+        try (ResultLogReader reader = new ResultLogReader(file)) {
+            assertEquals(100, reader.scan((rows, columns) -> { }, ResultColumn.SEED));
+        }
+
+        write(file, false, 100, 50);
+        assertEquals(whole + ResultLog.CHUNK_HEADER_SIZE + 50L * rowWidth(), Files.size(file));
+        try (ResultLogReader reader = new ResultLogReader(file)) {
+            long[] next = {0};
+            reader.scan((rows, columns) -> {
+                for (int i = 0; i < rows; i++) {
+                    assertEquals(next[0]++, columns[0].getLong(i * Long.BYTES));
+                }
+            }, ResultColumn.SEED);
+            assertEquals(150, next[0]);
+        }
+    }
+
+    @Test
+    void aFileThatIsNotAResultLogIsRefused() throws IOException {
+        Path file = directory.resolve("other.log");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> new ResultLogReader(file));
+        assertThrows(IOException.class, () -> new ResultLog(file, false));
+    }
+
+    private void checkEveryColumnReadsBack(boolean compressed) throws IOException {
+        Path file = directory.resolve("results.log");
+        write(file, compressed, 0, GAMES);
+
+        int[] game = {0};
+        try (ResultLogReader reader = new ResultLogReader(file)) {
+            long games = reader.scan((rows, columns) -> {
+                for (int i = 0; i < rows; i++, game[0]++) {
+                    int g = game[0];
+                    assertEquals(seed(g), columns[0].getLong(i * Long.BYTES));
+                    assertEquals(g % Difficulty.values().length, columns[1].get(i));
+                    assertEquals(g % 2, columns[2].get(i));
+                    assertEquals(g % 500, columns[3].getInt(i * Integer.BYTES));
+                    assertEquals(g % 70, columns[4].getInt(i * Integer.BYTES));
+                    assertEquals(g - GAMES / 2, columns[5].getInt(i * Integer.BYTES));
+                    assertEquals(g & Treasure.ALL_COLLECTIBLE, columns[6].get(i));
+                    assertEquals(g % SimulatedGame.Outcome.values().length, columns[7].get(i));
+                }
+            }, ResultColumn.VALUES);
+            assertEquals(GAMES, games);
+        }
+        assertEquals(GAMES, game[0]);
+    }
+
+    /**
+     * Appends games numbered from first, where every column holds a different function of the game's number.
+     */
+    private static void write(Path file, boolean compressed, int first, int count) throws IOException {
+        try (ResultLog log = new ResultLog(file, compressed)) {
+            ResultLogWriter writer = log.newWriter();
+            for (int g = first; g < first + count; g++) {
+                writer.record(seed(g), Difficulty.values()[g % Difficulty.values().length], g % 2 == 1, g % 500,
+                        g % 70, g - GAMES / 2, g & Treasure.ALL_COLLECTIBLE,
+                        SimulatedGame.Outcome.values()[g % SimulatedGame.Outcome.values().length]);
+            }
+        }
+    }
+
+    // small seeds for the torn chunk test, so the numbers can be checked in order
+    private static long seed(int game) {
+        return game < 1000 ? game : game * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int rowWidth() {
+        int width = 0;
+        for (ResultColumn column : ResultColumn.VALUES) {
+            width += column.getWidth();
+        }
+        return width;
+    }
+}
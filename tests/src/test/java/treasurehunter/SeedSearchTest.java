@@ -0,0 +1,86 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a SeedSearch finds exactly the seeds whose towns, as WorldStore rolls them, fit its patterns.
+ */
+class SeedSearchTest {
+    private static final int SEEDS = 200_000;
+    private static final int OCEAN = 1;
+    private static final int DESERT = 3;
+    private static final int JUNGLE = 4;
+
+    @Test
+    void theFirstTownsHoldTheTreasuresInOrder() {
+        checkSearch(Difficulty.HARD, "crown,trophy,gem", 0, seed ->
+                treasure(seed, 0, Difficulty.HARD) == Treasure.CROWN
+                        && treasure(seed, 1, Difficulty.HARD) == Treasure.TROPHY
+                        && treasure(seed, 2, Difficulty.HARD) == Treasure.GEM);
+    }
+
+    @Test
+    void aTownsTreasureDoesNotRuleOutTheNextTownsTerrain() {
+        // no seed fitted these while each town's rolls were the last town's shifted by one
+        checkSearch(Difficulty.HARD, "crown,jungle", 0, seed ->
+                treasure(seed, 0, Difficulty.HARD) == Treasure.CROWN && terrainType(seed, 1, Difficulty.HARD) == JUNGLE);
+        checkSearch(Difficulty.HARD, "ocean+crown,desert", 0, seed ->
+                terrainType(seed, 0, Difficulty.HARD) == OCEAN && treasure(seed, 0, Difficulty.HARD) == Treasure.CROWN
+                        && terrainType(seed, 1, Difficulty.HARD) == DESERT);
+    }
+
+    @Test
+    void toughnessIsCheckedOnlyWhereItIsAskedFor() {
+        checkSearch(Difficulty.HARD, "gem,crown+tough", 0, seed ->
+                treasure(seed, 0, Difficulty.HARD) == Treasure.GEM && treasure(seed, 1, Difficulty.HARD) == Treasure.CROWN
+                        && WorldStore.isToughTown(WorldStore.rollTown(seed, 1, Difficulty.HARD)));
+    }
+
+    @Test
+    void theFirstTownsHoldEveryTreasureInAnyOrder() {
+        checkSearch(Difficulty.NORMAL, "-", 3, seed -> {
+            int found = 0;
+            for (int townNumber = 0; townNumber < 3; townNumber++) {
+                found |= treasure(seed, townNumber, Difficulty.NORMAL).getBit();
+            }
+            return (found & Treasure.ALL_COLLECTIBLE) == Treasure.ALL_COLLECTIBLE;
+        });
+    }
+
+    /**
+     * Checks that a search finds the same seeds as checking every seed's towns one by one, and finds some.
+     */
+    private static void checkSearch(Difficulty difficulty, String towns, int collectTowns, LongPredicate fits) {
+        List<SeedSearch.TownPattern> patterns = new ArrayList<>();
+        if (!towns.equals("-")) {
+            for (String town : towns.split(",")) {
+                patterns.add(SeedSearch.TownPattern.parse(town));
+            }
+        }
+        long[] found = new SeedSearch(difficulty, patterns, collectTowns).find(0, SEEDS, SEEDS);
+
+        List<Long> expected = new ArrayList<>();
+        for (long seed = 0; seed < SEEDS; seed++) {
+            if (fits.test(seed)) {
+                expected.add(seed);
+            }
+        }
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), found, towns);
+        assertTrue(found.length > 0, "no seed fits " + towns);
+    }
+
+    private static Treasure treasure(long seed, int townNumber, Difficulty difficulty) {
+        return WorldStore.treasure(WorldStore.rollTown(seed, townNumber, difficulty));
+    }
+
+    private static int terrainType(long seed, int townNumber, Difficulty difficulty) {
+        return WorldStore.terrainType(WorldStore.rollTown(seed, townNumber, difficulty));
+    }
+}
@@ -0,0 +1,74 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks what a shop charges and pays, and that only a samurai gets the sword and what it brings.
+ */
+class ShopTest {
+    @Test
+    void aShopOnlyOffersTheSwordIfItDealsInSwords() {
+        Shop shop = new Shop(0.5, NullOutput.INSTANCE);
+        Shop samuraiShop = new Shop(0.5, true, NullOutput.INSTANCE);
+        assertFalse(shop.inventory().contains("Sword"));
+        assertTrue(samuraiShop.inventory().contains("Sword"));
+        assertEquals(4, shop.checkMarketPrice("rope", true));
+        assertEquals(2, shop.checkMarketPrice("rope", false));
+        assertEquals(0, shop.checkMarketPrice("sword", true));
+        assertEquals(0, shop.checkMarketPrice("sword", false));
+    }
+
+    @Test
+    void aHunterPaysTheBuyPriceAndGetsTheSellPrice() {
+        Shop shop = new Shop(0.5, NullOutput.INSTANCE);
+        Hunter hunter = new Hunter("ann", 20, false, NullOutput.INSTANCE);
+        shop.trade(hunter, "b", "rope");
+        assertTrue(hunter.hasItemInKit("rope"));
+        assertEquals(16, hunter.getGold());
+
+        shop.trade(hunter, "s", "rope");
+        assertFalse(hunter.hasItemInKit("rope"));
+        assertEquals(18, hunter.getGold());
+    }
+
+    @Test
+    void aSamuraiTakesTheSwordForNothingAndThenEveryItemFree() {
+        Difficulty difficulty = Difficulty.SAMURAI;
+        Shop shop = new Shop(difficulty.getMarkdown(), difficulty.isSamurai(), NullOutput.INSTANCE);
+        Hunter samurai = new Hunter("ann", difficulty.getStartingGold(), true, NullOutput.INSTANCE);
+        int gold = samurai.getGold();
+
+        shop.trade(samurai, "b", "sword");
+        assertTrue(samurai.hasItemInKit("sword"));
+        shop.trade(samurai, "b", "boat");
+        shop.trade(samurai, "b", "horse");
+        assertTrue(samurai.hasItemInKit("boat"));
+        assertTrue(samurai.hasItemInKit("horse"));
+        assertEquals(gold, samurai.getGold());
+
+        // the sword cannot be sold back
+        shop.trade(samurai, "s", "sword");
+        assertTrue(samurai.hasItemInKit("sword"));
+        assertEquals(gold, samurai.getGold());
+    }
+
+    @Test
+    void onlyASamuraiCanGetTheSword() {
+        Shop shop = new Shop(0.5, NullOutput.INSTANCE);
+        Hunter hunter = new Hunter("ann", 20, false, NullOutput.INSTANCE);
+        shop.trade(hunter, "b", "sword");
+        assertFalse(hunter.hasItemInKit("sword"));
+
+        // a shop that deals in swords still cannot give one to a hunter who is not a samurai
+        Shop samuraiShop = new Shop(0.5, true, NullOutput.INSTANCE);
+        samuraiShop.trade(hunter, "b", "sword");
+        assertFalse(hunter.hasItemInKit("sword"));
+        samuraiShop.trade(hunter, "b", "boat");
+        assertTrue(hunter.hasItemInKit("boat"));
+        assertEquals(20 - samuraiShop.checkMarketPrice("boat", true), hunter.getGold());
+    }
+}
@@ -0,0 +1,98 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a simulated game meets the towns its seed rolls, however many rolls its policy makes while playing.
+ */
+class SimulatedGameTest {
+    private static final DecisionPolicy[] POLICIES = {new GreedyPolicy(), new BrawlerPolicy(), new DiggerPolicy()};
+
+    @Test
+    void everyPolicyMeetsTheTownsTheSeedRolls() {
+        int furthest = 0;
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (long seed = 0; seed < 200; seed++) {
+                for (DecisionPolicy policy : POLICIES) {
+                    List<int[]> entered = play(difficulty, policy, seed);
+                    for (int townNumber = 0; townNumber < entered.size(); townNumber++) {
+                        byte rolled = WorldStore.rollTown(seed, townNumber, difficulty);
+                        int[] town = entered.get(townNumber);
+                        String where = difficulty + " seed " + seed + " town " + townNumber;
+                        assertEquals(WorldStore.terrainType(rolled), town[0], where);
+                        assertEquals(WorldStore.treasure(rolled).ordinal(), town[1], where);
+                        assertEquals(WorldStore.isToughTown(rolled) ? 1 : 0, town[2], where);
+                    }
+                    furthest = Math.max(furthest, entered.size());
+                }
+            }
+        }
+        // some games travel far, so the check covers more than each game's first town
+        assertTrue(furthest > 10, "no game went past town " + furthest);
+    }
+
+    @Test
+    void theSameSeedAndPolicyPlayTheSameGame() {
+        for (DecisionPolicy policy : POLICIES) {
+            for (long seed = 0; seed < 50; seed++) {
+                SimulatedGame first = new SimulatedGame(Difficulty.NORMAL, policy, seed);
+                SimulatedGame second = new SimulatedGame(Difficulty.NORMAL, policy, seed);
+                assertEquals(first.play(500), second.play(500));
+                assertEquals(first.getTurns(), second.getTurns());
+                assertEquals(first.getHunter().getGold(), second.getHunter().getGold());
+            }
+        }
+    }
+
+    @Test
+    void aHunterDigsOnlyOnceAGameHoweverManyTownsTheyTry() {
+        int furthest = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            int[] digs = new int[2];
+            GameEventListener listener = (event, a, b, c) -> {
+                if (event == GameEvent.DUG_FOR_GOLD) {
+                    digs[a]++;
+                }
+            };
+            SimulatedGame game = new SimulatedGame(Difficulty.TEST, new DigEverywherePolicy(), seed, listener);
+            game.play(40);
+            assertEquals(1, digs[1], "seed " + seed);
+            assertTrue(digs[0] > 0, "seed " + seed);
+            furthest = Math.max(furthest, game.getTownsVisited());
+        }
+        assertTrue(furthest > 1, "no game left its first town");
+    }
+
+    /**
+     * Tries to dig in every town, moving on between tries. A TEST game's hunter starts with a shovel.
+     */
+    private static class DigEverywherePolicy implements DecisionPolicy {
+        public String nextMove(SimulatedGame game) {
+            return game.getTurns() % 2 == 0 ? "d" : "m";
+        }
+
+        public String chooseItem(SimulatedGame game, String buyOrSell) {
+            return "shovel";
+        }
+    }
+
+    /**
+     * Plays a game and gives the terrain type, treasure ordinal and toughness of every town entered, in order.
+     */
+    private static List<int[]> play(Difficulty difficulty, DecisionPolicy policy, long seed) {
+        List<int[]> entered = new ArrayList<>();
+        GameEventListener listener = (event, a, b, c) -> {
+            if (event == GameEvent.TOWN_ENTERED) {
+                entered.add(new int[]{a, b, c});
+            }
+        };
+        new SimulatedGame(difficulty, policy, seed, listener).play(500);
+        return entered;
+    }
+}
@@ -0,0 +1,111 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a game saved into a SnapshotStore slot loads back into the same game.
+ */
+class SnapshotStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void aLoadedGameSavesTheSameBytes() throws IOException {
+        Path file = directory.resolve("games.sav");
+        try (SnapshotStore store = new SnapshotStore(file, 2)) {
+            playAndLeave(store, 0, 7, "ann", "test", "b water y", "h", "d", "x");
+            assertTrue(store.hasSnapshot(0));
+            assertFalse(store.hasSnapshot(1));
+
+            TreasureHunter loaded = new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(99), new QueueInput());
+            assertTrue(store.load(0, loaded));
+            store.save(1, loaded);
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] saved = Arrays.copyOfRange(bytes, 0, SnapshotStore.SLOT_SIZE);
+        byte[] resaved = Arrays.copyOfRange(bytes, SnapshotStore.SLOT_SIZE, 2 * SnapshotStore.SLOT_SIZE);
+        assertArrayEquals(saved, resaved);
+    }
+
+    @Test
+    void theHunterNameCanBeReadWithoutLoadingTheGame() throws IOException {
+        try (SnapshotStore store = new SnapshotStore(directory.resolve("games.sav"), 4)) {
+            playAndLeave(store, 3, 1, "Hannelore the Bold", "n", "x");
+
+            // the game reads answers in lowercase
+            assertEquals("hannelore the bold", store.getHunterName(3));
+            assertNull(store.getHunterName(0));
+        }
+    }
+
+    @Test
+    void savedGamesOutliveTheStoreAndClearedSlotsAreEmpty() throws IOException {
+        Path file = directory.resolve("games.sav");
+        try (SnapshotStore store = new SnapshotStore(file, 2)) {
+            playAndLeave(store, 0, 3, "ann", "e", "l", "x");
+            playAndLeave(store, 1, 4, "bob", "h", "x");
+        }
+
+        try (SnapshotStore store = new SnapshotStore(file, 2)) {
+            assertEquals("ann", store.getHunterName(0));
+            assertEquals("bob", store.getHunterName(1));
+            store.clear(0);
+            assertFalse(store.hasSnapshot(0));
+            assertFalse(store.load(0, new TreasureHunter(NullOutput.INSTANCE)));
+            assertTrue(store.hasSnapshot(1));
+        }
+    }
+
+    @Test
+    void aSlotWithNumbersTheGameDoesNotHaveCountsAsEmpty() throws IOException {
+        Path file = directory.resolve("games.sav");
+        try (SnapshotStore store = new SnapshotStore(file, 2)) {
+            playAndLeave(store, 0, 3, "ann", "e", "x");
+            playAndLeave(store, 1, 4, "bob", "h", "x");
+        }
+        // the difficulty of the first slot and the name length of the second, at their places in a slot
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) Difficulty.values().length}), 4);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) SnapshotStore.SLOT_SIZE}), SnapshotStore.SLOT_SIZE + 28);
+        }
+
+        try (SnapshotStore store = new SnapshotStore(file, 2)) {
+            for (int slot = 0; slot < 2; slot++) {
+                assertFalse(store.hasSnapshot(slot));
+                assertNull(store.getHunterName(slot));
+                assertFalse(store.load(slot, new TreasureHunter(NullOutput.INSTANCE)));
+            }
+        }
+    }
+
+    /**
+     * Plays a game saved into a slot with the answers given, which end by leaving with x so the game stays saved.
+     */
+    private static void playAndLeave(SnapshotStore store, int slot, long seed, String... answers) {
+        QueueInput input = new QueueInput();
+        for (String answer : answers) {
+            input.add(answer);
+        }
+        input.close();
+        TreasureHunter game = new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(seed), input);
+        game.setSnapshotStore(store, slot);
+        game.play();
+    }
+}
@@ -0,0 +1,47 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks rules that the game itself keeps rather than the towns, by playing it with typed answers.
+ */
+class TreasureHunterTest {
+    @Test
+    void aHunterDigsOnlyOnceAGameHoweverManyTownsTheyTry() {
+        int furthest = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            QueueInput input = new QueueInput();
+            input.add("ann");
+            // a test game's hunter starts with a shovel
+            input.add("test");
+            for (int i = 0; i < 10; i++) {
+                input.add("d");
+                input.add("m");
+            }
+            input.add("x");
+            input.close();
+
+            int[] digs = new int[2];
+            int[] towns = {0};
+            TreasureHunter game = new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(seed), input);
+            game.setEventListener((event, a, b, c) -> {
+                if (event == GameEvent.DUG_FOR_GOLD) {
+                    digs[a]++;
+                } else if (event == GameEvent.TOWN_ENTERED) {
+                    towns[0]++;
+                }
+            });
+            game.play();
+
+            assertEquals(1, digs[1], "seed " + seed);
+            assertTrue(digs[0] > 0, "seed " + seed);
+            furthest = Math.max(furthest, towns[0]);
+        }
+        assertTrue(furthest > 1, "no game left its first town");
+    }
+}
@@ -0,0 +1,186 @@
+package treasurehunter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a world's towns are rolled the same every time, and that no town's rolls depend on another town's or
+ * on the rolls made while playing.
+ */
+class WorldSeedTest {
+    private static final int SEEDS = 2000;
+    private static final int TOWNS = 64;
+    // far beyond any value a chi-squared test of these sizes reaches by chance with fixed seeds
+    private static final double MAX_CHI_SQUARED = 60;
+
+    @Test
+    void aTownIsTheSameEveryTimeAndInEveryKindOfWorld() {
+        WorldStore store = new WorldStore(42, Difficulty.HARD, 8);
+        World world = new World(42, Difficulty.HARD, new SplittableRandom(1), NullOutput.INSTANCE);
+        for (int townNumber = 0; townNumber < store.getTowns(); townNumber++) {
+            byte rolled = WorldStore.rollTown(42, townNumber, Difficulty.HARD);
+            assertEquals(rolled, WorldStore.rollTown(42, townNumber, Difficulty.HARD));
+            assertEquals(WorldStore.terrainType(rolled), store.getTerrainType(townNumber));
+            assertEquals(WorldStore.treasure(rolled), store.getTreasure(townNumber));
+            assertEquals(WorldStore.isToughTown(rolled), store.isToughTown(townNumber));
+            Town town = world.getTown(townNumber);
+            assertEquals(WorldStore.terrainType(rolled), town.getTerrainType());
+            assertEquals(WorldStore.treasure(rolled), town.getTreasureType());
+        }
+    }
+
+    @Test
+    void aGameStartedOnAWorldSeedBeginsInItsFirstTown() {
+        for (long worldSeed = 0; worldSeed < 20; worldSeed++) {
+            TreasureHunter game = new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(worldSeed + 100), input());
+            game.setWorldSeed(worldSeed);
+            List<int[]> entered = playAndListTowns(game);
+            byte rolled = WorldStore.rollTown(worldSeed, 0, Difficulty.NORMAL);
+            assertEquals(1, entered.size());
+            assertEquals(WorldStore.terrainType(rolled), entered.get(0)[0]);
+            assertEquals(WorldStore.treasure(rolled).ordinal(), entered.get(0)[1]);
+        }
+    }
+
+    @Test
+    void theSameGameSeedRollsTheSameWorld() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<int[]> first = playAndListTowns(new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(seed), input()));
+            List<int[]> second = playAndListTowns(new TreasureHunter(NullOutput.INSTANCE, new SplittableRandom(seed), input()));
+            assertEquals(first.size(), second.size());
+            for (int i = 0; i < first.size(); i++) {
+                assertArrayEquals(first.get(i), second.get(i));
+            }
+        }
+    }
+
+    @Test
+    void neighbouringTownsAndThePlayStreamShareNoNumbers() {
+        for (long seed = 0; seed < 100; seed++) {
+            Set<Long> drawn = new HashSet<>();
+            int draws = 0;
+            for (int townNumber = 0; townNumber < TOWNS; townNumber++) {
+                SplittableRandom random = WorldStore.townRandom(seed, townNumber);
+                for (int i = 0; i < 16; i++, draws++) {
+                    drawn.add(random.nextLong());
+                }
+            }
+            SplittableRandom play = WorldStore.playRandom(seed);
+            for (int i = 0; i < 256; i++, draws++) {
+                drawn.add(play.nextLong());
+            }
+            assertEquals(draws, drawn.size(), "seed " + seed);
+        }
+        SplittableRandom town0 = WorldStore.townRandom(7, 0);
+        town0.nextLong();
+        assertNotEquals(town0.nextLong(), WorldStore.townRandom(7, 1).nextLong());
+    }
+
+    @Test
+    void theNextTownsTerrainDoesNotDependOnThisTownsTreasure() {
+        long[][] counts = new long[Treasure.VALUES.length][TownOdds.TERRAINS];
+        forEachNeighbouringPair(Difficulty.NORMAL, (town, next) ->
+                counts[WorldStore.treasure(town).ordinal()][WorldStore.terrainType(next)]++);
+        assertIndependent(counts);
+    }
+
+    @Test
+    void theNextTownsTreasureDoesNotDependOnThisTownsToughness() {
+        long[][] counts = new long[2][Treasure.VALUES.length];
+        forEachNeighbouringPair(Difficulty.HARD, (town, next) ->
+                counts[WorldStore.isToughTown(town) ? 1 : 0][WorldStore.treasure(next).ordinal()]++);
+        assertIndependent(counts);
+    }
+
+    @Test
+    void playRollsDoNotDependOnTheFirstTown() {
+        long[][] counts = new long[Treasure.VALUES.length][TownOdds.TERRAINS];
+        TownOdds odds = Difficulty.NORMAL.getTownOdds();
+        for (long seed = 0; seed < SEEDS * TOWNS; seed++) {
+            byte town = WorldStore.rollTown(seed, 0, Difficulty.NORMAL);
+            counts[WorldStore.treasure(town).ordinal()][odds.rollTerrainType(WorldStore.playRandom(seed))]++;
+        }
+        assertIndependent(counts);
+    }
+
+    /**
+     * Answers a new game's questions with a normal game that leaves at once.
+     */
+    private static QueueInput input() {
+        QueueInput input = new QueueInput();
+        input.add("ann");
+        input.add("n");
+        input.add("x");
+        input.close();
+        return input;
+    }
+
+    /**
+     * Plays a game and gives the terrain type, treasure ordinal and toughness of every town entered, in order.
+     */
+    private static List<int[]> playAndListTowns(TreasureHunter game) {
+        List<int[]> entered = new ArrayList<>();
+        game.setEventListener((event, a, b, c) -> {
+            if (event == GameEvent.TOWN_ENTERED) {
+                entered.add(new int[]{a, b, c});
+            }
+        });
+        game.play();
+        return entered;
+    }
+
+    /**
+     * Hands every town of the first TOWNS of many worlds to a visitor together with the town numbered after it.
+     */
+    private static void forEachNeighbouringPair(Difficulty difficulty, PairVisitor visitor) {
+        for (long seed = 0; seed < SEEDS; seed++) {
+            byte town = WorldStore.rollTown(seed, 0, difficulty);
+            for (int townNumber = 1; townNumber <= TOWNS; townNumber++) {
+                byte next = WorldStore.rollTown(seed, townNumber, difficulty);
+                visitor.visit(town, next);
+                town = next;
+            }
+        }
+    }
+
+    private interface PairVisitor {
+        void visit(byte town, byte next);
+    }
+
+    /**
+     * Checks a table of counts with Pearson's chi-squared test, and that every pair that can happen did happen.
+     */
+    private static void assertIndependent(long[][] counts) {
+        long total = 0;
+        long[] rowTotals = new long[counts.length];
+        long[] columnTotals = new long[counts[0].length];
+        for (int row = 0; row < counts.length; row++) {
+            for (int column = 0; column < counts[row].length; column++) {
+                rowTotals[row] += counts[row][column];
+                columnTotals[column] += counts[row][column];
+                total += counts[row][column];
+            }
+        }
+        double chiSquared = 0;
+        for (int row = 0; row < counts.length; row++) {
+            for (int column = 0; column < counts[row].length; column++) {
+                double expected = (double) rowTotals[row] * columnTotals[column] / total;
+                if (expected > 0) {
+                    assertTrue(counts[row][column] > 0, "pair " + row + "," + column + " never happened");
+                    chiSquared += (counts[row][column] - expected) * (counts[row][column] - expected) / expected;
+                }
+            }
+        }
+        assertTrue(chiSquared < MAX_CHI_SQUARED, "chi-squared " + chiSquared);
+    }
+}